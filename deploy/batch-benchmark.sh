@@ -0,0 +1,102 @@
+#!/bin/bash
+
+# Creates the same tasks once with one POST /api/tasks per task and once through
+# POST /api/tasks/batch, and prints the wall time and tasks/s of each.
+# Both runs go over a single keep-alive connection, so the difference is per-request
+# work on the server (filter chain, transaction, flush) rather than TCP setup.
+# Raise the API rate limit on the target first, or the single-POST run hits 429s.
+#
+# Usage: ./deploy/batch-benchmark.sh <base-url>
+#   BENCH_EMAIL / BENCH_PASSWORD   existing account that receives the tasks
+#   BENCH_TASKS                    number of tasks per run (default 1000)
+#   BENCH_BATCH_SIZE               tasks per batch request, up to app.tasks.batch.max-size (default 500)
+
+set -euo pipefail
+
+if [[ $# -ne 1 ]]; then
+  echo "Usage: $0 <base-url>"
+  exit 1
+fi
+
+for cmd in jq curl awk; do
+  if ! command -v "$cmd" &> /dev/null; then
+    echo "ERROR: $cmd is not installed"
+    exit 1
+  fi
+done
+
+BASE_URL="$1"
+EMAIL="${BENCH_EMAIL:?BENCH_EMAIL not set}"
+PASSWORD="${BENCH_PASSWORD:?BENCH_PASSWORD not set}"
+TASKS="${BENCH_TASKS:-1000}"
+BATCH_SIZE="${BENCH_BATCH_SIZE:-500}"
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+token=$(curl -s -f -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "$(jq -n --arg e "$EMAIL" --arg p "$PASSWORD" '{email: $e, password: $p}')" \
+  | jq -r '.access_token')
+
+task_json() {
+  printf '{"title":"Benchmark task %d","description":"Created by the batch benchmark","priority":"MEDIUM","tags":["bench"]}' "$1"
+}
+
+# One curl invocation per run, with one request per "next" block, reuses the connection
+write_singles_config() {
+  for ((i = 1; i <= TASKS; i++)); do
+    ((i > 1)) && echo "next"
+    echo "url = \"$BASE_URL/api/tasks\""
+    echo "request = \"POST\""
+    echo "header = \"Authorization: Bearer $token\""
+    echo "header = \"Content-Type: application/json\""
+    echo "data = $(task_json "$i" | jq -R .)"
+    echo "output = \"/dev/null\""
+    echo "write-out = \"%{http_code}\\n\""
+  done
+}
+
+write_batches_config() {
+  for ((first = 1; first <= TASKS; first += BATCH_SIZE)); do
+    local last=$((first + BATCH_SIZE - 1))
+    ((last > TASKS)) && last=$TASKS
+    local body="$WORK_DIR/batch-$first.json"
+    {
+      printf '{"tasks":['
+      for ((i = first; i <= last; i++)); do
+        ((i > first)) && printf ','
+        task_json "$i"
+      done
+      printf ']}'
+    } > "$body"
+    ((first > 1)) && echo "next"
+    echo "url = \"$BASE_URL/api/tasks/batch\""
+    echo "request = \"POST\""
+    echo "header = \"Authorization: Bearer $token\""
+    echo "header = \"Content-Type: application/json\""
+    echo "data-binary = \"@$body\""
+    echo "output = \"/dev/null\""
+    echo "write-out = \"%{http_code}\\n\""
+  done
+}
+
+run() {
+  local name="$1" config="$2" start end codes
+  start=$(date +%s.%N)
+  codes=$(curl -s -K "$config")
+  end=$(date +%s.%N)
+  awk -v name="$name" -v s="$start" -v e="$end" -v n="$TASKS" -v codes="$codes" 'BEGIN {
+    requests = split(codes, c, "\n")
+    for (i = 1; i <= requests; i++) if (c[i] !~ /^2/) errors++
+    printf "%-8s %5d tasks in %4d requests: %7.2fs  %8.0f tasks/s  non-2xx=%d\n",
+      name, n, requests, e - s, n / (e - s), errors
+  }'
+}
+
+echo "Preparing requests..."
+write_singles_config > "$WORK_DIR/singles.cfg"
+write_batches_config > "$WORK_DIR/batches.cfg"
+
+echo "Creating $TASKS tasks..."
+run single "$WORK_DIR/singles.cfg"
+run batch "$WORK_DIR/batches.cfg"
@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Generates an NDJSON file of tasks and measures how fast /api/tasks/import ingests it.
+# Run the application with rewriteBatchedStatements (the default configuration) against
+# a local MySQL instance; the rate printed is rows committed per second of upload.
+#
+# Usage: ./deploy/import-benchmark.sh <base-url>
+#   BENCH_EMAIL / BENCH_PASSWORD   existing account that receives the imported tasks
+#   BENCH_TASKS                    number of rows to generate (default 500000)
+#   BENCH_FILE                     where to write the generated file (default /tmp/tasks-import.ndjson)
+
+set -euo pipefail
+
+if [[ $# -ne 1 ]]; then
+  echo "Usage: $0 <base-url>"
+  exit 1
+fi
+
+for cmd in jq curl awk; do
+  if ! command -v "$cmd" &> /dev/null; then
+    echo "ERROR: $cmd is not installed"
+    exit 1
+  fi
+done
+
+BASE_URL="$1"
+EMAIL="${BENCH_EMAIL:?BENCH_EMAIL not set}"
+PASSWORD="${BENCH_PASSWORD:?BENCH_PASSWORD not set}"
+TASKS="${BENCH_TASKS:-500000}"
+FILE="${BENCH_FILE:-/tmp/tasks-import.ndjson}"
+
+echo "Generating $TASKS rows in $FILE..."
+awk -v n="$TASKS" 'BEGIN {
+  split("TODO IN_PROGRESS COMPLETED", statuses, " ")
+  split("LOW MEDIUM HIGH", priorities, " ")
+  split("work personal urgent finance someday", tags, " ")
+  for (i = 1; i <= n; i++) {
+    printf "{\"title\":\"Imported task %d\",\"description\":\"Generated for the import benchmark, batch %d\",", i, i % 1000
+    printf "\"status\":\"%s\",\"priority\":\"%s\",\"dueDate\":\"2030-01-%02dT09:00:00\",\"tags\":[\"%s\"]}\n",
+      statuses[1 + i % 3], priorities[1 + i % 3], 1 + i % 28, tags[1 + i % 5]
+  }
+}' > "$FILE"
+
+token=$(curl -s -f -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "$(jq -n --arg e "$EMAIL" --arg p "$PASSWORD" '{email: $e, password: $p}')" \
+  | jq -r '.access_token')
+
+echo "Uploading..."
+start=$(date +%s.%N)
+result=$(curl -s -f -X POST "$BASE_URL/api/tasks/import?format=ndjson" \
+    -H "Authorization: Bearer $token" \
+    -H "Content-Type: application/x-ndjson" \
+    --data-binary "@$FILE")
+end=$(date +%s.%N)
+
+imported=$(echo "$result" | jq -r '.rowsImported')
+failed=$(echo "$result" | jq -r '.rowsFailed')
+awk -v s="$start" -v e="$end" -v n="$imported" -v f="$failed" 'BEGIN {
+  printf "imported %d rows (%d failed) in %.2fs: %.0f rows/s\n", n, f, e - s, n / (e - s)
+}'
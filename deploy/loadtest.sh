@@ -0,0 +1,51 @@
+#!/bin/bash
+
+# Compares throughput and latency of two running instances (e.g. platform vs
+# virtual thread mode) at increasing concurrency.
+#
+# Usage: ./deploy/loadtest.sh <base-url> [<base-url> ...]
+#   LOADTEST_EMAIL / LOADTEST_PASSWORD  existing account used for the run
+#   LOADTEST_DURATION                   duration per step (default 30s)
+#   LOADTEST_CONCURRENCY                space separated levels (default "50 200 1000 4000")
+#   LOADTEST_PATH                       endpoint under test (default /api/tasks/page)
+
+set -euo pipefail
+
+if [[ $# -lt 1 ]]; then
+  echo "Usage: $0 <base-url> [<base-url> ...]"
+  exit 1
+fi
+
+for cmd in hey jq curl; do
+  if ! command -v "$cmd" &> /dev/null; then
+    echo "ERROR: $cmd is not installed"
+    exit 1
+  fi
+done
+
+EMAIL="${LOADTEST_EMAIL:?LOADTEST_EMAIL not set}"
+PASSWORD="${LOADTEST_PASSWORD:?LOADTEST_PASSWORD not set}"
+DURATION="${LOADTEST_DURATION:-30s}"
+CONCURRENCY="${LOADTEST_CONCURRENCY:-50 200 1000 4000}"
+TARGET_PATH="${LOADTEST_PATH:-/api/tasks/page}"
+
+printf "%-32s %-8s %-12s %-10s %-10s %-10s\n" "instance" "conc" "req/s" "p50(s)" "p99(s)" "non-2xx"
+
+for base_url in "$@"; do
+  token=$(curl -s -f -X POST "$base_url/api/auth/login" \
+      -H "Content-Type: application/json" \
+      -d "$(jq -n --arg e "$EMAIL" --arg p "$PASSWORD" '{email: $e, password: $p}')" \
+    | jq -r '.access_token') || {
+    echo "ERROR: Login failed against $base_url"
+    exit 1
+  }
+
+  for c in $CONCURRENCY; do
+    report=$(hey -z "$DURATION" -c "$c" -H "Authorization: Bearer $token" "$base_url$TARGET_PATH")
+    rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+    p50=$(echo "$report" | awk '/ 50% in/ {print $3}')
+    p99=$(echo "$report" | awk '/ 99% in/ {print $3}')
+    errors=$(echo "$report" | awk '/\[[0-9]+\]/ && $1 !~ /\[2/ {sum += $2} END {print sum + 0}')
+    printf "%-32s %-8s %-12s %-10s %-10s %-10s\n" "$base_url" "$c" "$rps" "$p50" "$p99" "$errors"
+  done
+done
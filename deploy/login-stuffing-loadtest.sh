@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Simulates a credential-stuffing attack: wrong-password logins against a set of
+# accounts, each request from a different X-Forwarded-For address so the per-IP
+# rate limit never trips. Samples the application's CPU while it runs and reports
+# how the responses split between password checks (401) and early rejections.
+#
+# Usage: ./deploy/login-stuffing-loadtest.sh <base-url> <app-pid>   (run on the application host)
+#   STUFFING_ACCOUNTS      accounts targeted, emails stuffing-<n>@example.com (default 100)
+#   STUFFING_REQUESTS      total login attempts (default 20000)
+#   STUFFING_CONCURRENCY   parallel clients (default 64)
+#
+# Start the application with RATE_LIMIT_TRUST_FORWARDED_HEADERS=true and
+# RATE_LIMIT_TRUSTED_PROXIES=127.0.0.1,::1 so it believes the forged addresses.
+
+set -euo pipefail
+
+if [[ $# -ne 2 ]]; then
+  echo "Usage: $0 <base-url> <app-pid>"
+  exit 1
+fi
+
+for cmd in curl xargs getconf; do
+  if ! command -v "$cmd" &> /dev/null; then
+    echo "ERROR: $cmd is not installed"
+    exit 1
+  fi
+done
+
+BASE_URL="$1"
+APP_PID="$2"
+ACCOUNTS="${STUFFING_ACCOUNTS:-100}"
+REQUESTS="${STUFFING_REQUESTS:-20000}"
+CONCURRENCY="${STUFFING_CONCURRENCY:-64}"
+RESULTS=$(mktemp)
+CPU_SAMPLES=$(mktemp)
+trap 'rm -f "$RESULTS" "$CPU_SAMPLES"' EXIT
+
+attempt() {
+  local n="$1"
+  curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -H "X-Forwarded-For: 10.$((n >> 16 & 255)).$((n >> 8 & 255)).$((n & 255))" \
+    -d "{\"email\":\"stuffing-$((n % ACCOUNTS))@example.com\",\"password\":\"wrong-$n\"}"
+}
+export -f attempt
+export BASE_URL ACCOUNTS
+
+# CPU% per one-second interval from the process's utime + stime in /proc (Linux)
+cpu_ticks() { awk '{print $14 + $15}' "/proc/$APP_PID/stat"; }
+ticks_per_second=$(getconf CLK_TCK)
+(previous=$(cpu_ticks); while sleep 1 && current=$(cpu_ticks); do
+  echo $(( (current - previous) * 100 / ticks_per_second )) >> "$CPU_SAMPLES"; previous=$current
+done) &
+sampler=$!
+
+start=$(date +%s)
+seq 1 "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} bash -c 'attempt {}' > "$RESULTS"
+elapsed=$(( $(date +%s) - start ))
+kill "$sampler" 2> /dev/null || true
+
+echo "attempts: $REQUESTS in ${elapsed}s"
+sort "$RESULTS" | uniq -c | awk '{
+  label = $2 == "401" ? "password checked (401)" : $2 == "423" ? "account locked (423)" : $2 == "429" ? "rate limited (429)" : "other"
+  printf "  %-26s %s %d\n", label, $2, $1
+}'
+awk '{sum += $1; if ($1 > max) max = $1} END {if (NR) printf "cpu: avg %.0f%%, max %.0f%% over %d samples\n", sum / NR, max, NR}' "$CPU_SAMPLES"
@@ -0,0 +1,117 @@
+#!/bin/bash
+
+# Converts task, task tag, tombstone and refresh token ids from VARCHAR UUID strings
+# to BINARY(16), the layout the application expects from this release on.
+# Run it with the application stopped: neither the old nor the new version can use
+# the tables while the swap is half done. Requires MySQL 8.0 (UUID_TO_BIN).
+#
+# The new columns are filled in keyset chunks so no single transaction or binlog
+# event grows with the table; the final swap rebuilds each table once.
+# Safe to re-run after an interruption; it resumes the backfill where it stopped.
+#
+# Usage: ./deploy/migrate-binary-ids.sh
+#   MIGRATE_CHUNK                  rows converted per statement (default 20000)
+#   MYSQL_HOST / MYSQL_USER / MYSQL_PWD / MYSQL_DATABASE   database to migrate
+
+set -euo pipefail
+
+if ! command -v mysql &> /dev/null; then
+  echo "ERROR: mysql is not installed"
+  exit 1
+fi
+
+CHUNK="${MIGRATE_CHUNK:-20000}"
+DATABASE="${MYSQL_DATABASE:-taskmanager}"
+MYSQL=(mysql -h "${MYSQL_HOST:-127.0.0.1}" -u "${MYSQL_USER:-root}" -N -B "$DATABASE")
+
+column_type() {
+  "${MYSQL[@]}" -e "SELECT data_type FROM information_schema.columns
+                    WHERE table_schema = DATABASE() AND table_name = '$1' AND column_name = '$2'"
+}
+
+add_column() {
+  if [[ -z "$(column_type "$1" "$2")" ]]; then
+    "${MYSQL[@]}" -e "ALTER TABLE $1 ADD COLUMN $2 BINARY(16) NULL, ALGORITHM=INSTANT"
+  fi
+}
+
+# Walks a VARCHAR key in order, converting one chunk per statement
+backfill() {
+  local table="$1" key="$2" target="$3" last="" upper converted=0
+  while true; do
+    upper=$("${MYSQL[@]}" -e "SELECT MAX($key) FROM (SELECT $key FROM $table WHERE $key > '$last'
+                                ORDER BY $key LIMIT $CHUNK) chunk")
+    if [[ "$upper" == "NULL" || -z "$upper" ]]; then
+      break
+    fi
+    "${MYSQL[@]}" -e "UPDATE $table SET $target = UUID_TO_BIN($key)
+                      WHERE $key > '$last' AND $key <= '$upper' AND $target IS NULL"
+    last="$upper"
+    converted=$((converted + CHUNK))
+    echo "  $table: ~$converted rows"
+  done
+}
+
+if [[ "$(column_type tasks id)" == "binary" ]]; then
+  echo "Task ids are already binary, nothing to do"
+  exit 0
+fi
+
+echo "Adding binary id columns..."
+add_column tasks id_bin
+add_column task_tags task_id_bin
+add_column task_tombstones task_id_bin
+add_column refresh_tokens id_bin
+
+echo "Converting ids..."
+backfill tasks id id_bin
+backfill task_tags task_id task_id_bin
+backfill refresh_tokens id id_bin
+# Compacted to the sync retention window, so small enough for one statement
+"${MYSQL[@]}" -e "UPDATE task_tombstones SET task_id_bin = UUID_TO_BIN(task_id) WHERE task_id_bin IS NULL"
+
+echo "Swapping columns..."
+"${MYSQL[@]}" <<'SQL'
+SET @fk = (SELECT constraint_name FROM information_schema.referential_constraints
+           WHERE constraint_schema = DATABASE() AND table_name = 'task_tags' AND referenced_table_name = 'tasks'
+           LIMIT 1);
+SET @drop_fk = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE task_tags DROP FOREIGN KEY ', @fk));
+PREPARE drop_fk FROM @drop_fk;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE task_tags
+  DROP COLUMN task_id,
+  CHANGE COLUMN task_id_bin task_id BINARY(16) NOT NULL FIRST;
+
+-- Indexes ending in id are dropped and rebuilt so they keep the key column
+ALTER TABLE tasks
+  DROP PRIMARY KEY,
+  DROP INDEX idx_task_user_created,
+  DROP INDEX idx_task_user_status_created,
+  DROP INDEX idx_task_user_priority_created,
+  DROP INDEX idx_task_user_change_seq,
+  DROP COLUMN id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  ADD PRIMARY KEY (id),
+  ADD INDEX idx_task_user_created (user_id, created_at, id),
+  ADD INDEX idx_task_user_status_created (user_id, status, created_at, id),
+  ADD INDEX idx_task_user_priority_created (user_id, priority, created_at, id),
+  ADD INDEX idx_task_user_change_seq (user_id, change_seq, id);
+
+ALTER TABLE task_tags ADD CONSTRAINT fk_task_tags_task FOREIGN KEY (task_id) REFERENCES tasks (id);
+
+ALTER TABLE task_tombstones
+  DROP INDEX idx_tombstone_user_seq,
+  DROP COLUMN task_id,
+  CHANGE COLUMN task_id_bin task_id BINARY(16) NOT NULL,
+  ADD INDEX idx_tombstone_user_seq (user_id, change_seq, task_id);
+
+ALTER TABLE refresh_tokens
+  DROP PRIMARY KEY,
+  DROP COLUMN id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  ADD PRIMARY KEY (id);
+SQL
+
+echo "Done. Existing ids keep their string form in the API; new ids are time ordered."
@@ -0,0 +1,69 @@
+#!/bin/bash
+
+# Seeds a user with a large number of tasks directly in MySQL and measures
+# /api/tasks/search latency for a few typical type-ahead and multi-word queries.
+#
+# Usage: ./deploy/search-benchmark.sh <base-url>
+#   BENCH_EMAIL / BENCH_PASSWORD   existing account that receives the seeded tasks
+#   BENCH_TASKS                    number of tasks to seed (default 1000000, 0 to skip seeding)
+#   BENCH_REQUESTS                 requests per query (default 500)
+#   MYSQL_HOST / MYSQL_USER / MYSQL_PWD / MYSQL_DATABASE   database holding the tasks table
+
+set -euo pipefail
+
+if [[ $# -ne 1 ]]; then
+  echo "Usage: $0 <base-url>"
+  exit 1
+fi
+
+for cmd in hey jq curl mysql; do
+  if ! command -v "$cmd" &> /dev/null; then
+    echo "ERROR: $cmd is not installed"
+    exit 1
+  fi
+done
+
+BASE_URL="$1"
+EMAIL="${BENCH_EMAIL:?BENCH_EMAIL not set}"
+PASSWORD="${BENCH_PASSWORD:?BENCH_PASSWORD not set}"
+TASKS="${BENCH_TASKS:-1000000}"
+REQUESTS="${BENCH_REQUESTS:-500}"
+DATABASE="${MYSQL_DATABASE:-taskmanager}"
+MYSQL=(mysql -h "${MYSQL_HOST:-127.0.0.1}" -u "${MYSQL_USER:-root}" "$DATABASE")
+
+if [[ "$TASKS" -gt 0 ]]; then
+  echo "Seeding $TASKS tasks for $EMAIL..."
+  "${MYSQL[@]}" <<SQL
+SET SESSION cte_max_recursion_depth = 100000000;
+SET @user_id = (SELECT id FROM users WHERE email = '$EMAIL');
+INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at, version, change_seq, user_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < $TASKS)
+SELECT UUID_TO_BIN(UUID()),
+       CONCAT(ELT(1 + n % 6, 'Prepare', 'Review', 'Ship', 'Fix', 'Plan', 'Write'), ' ',
+              ELT(1 + n % 7, 'quarterly report', 'release notes', 'login bug', 'roadmap', 'invoice', 'onboarding docs', 'budget'),
+              ' #', n),
+       CONCAT('Generated task ', n, ' for the search benchmark, batch ', n % 1000),
+       ELT(1 + n % 3, 'TODO', 'IN_PROGRESS', 'COMPLETED'),
+       ELT(1 + n % 3, 'LOW', 'MEDIUM', 'HIGH'),
+       NOW(), NOW(), 0, 0, @user_id
+FROM seq;
+INSERT INTO task_tags (task_id, tag)
+SELECT id, ELT(1 + CRC32(id) % 5, 'work', 'personal', 'urgent', 'finance', 'someday')
+FROM tasks WHERE user_id = @user_id;
+SQL
+fi
+
+token=$(curl -s -f -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "$(jq -n --arg e "$EMAIL" --arg p "$PASSWORD" '{email: $e, password: $p}')" \
+  | jq -r '.access_token')
+
+printf "%-28s %-10s %-10s %-10s\n" "query" "req/s" "p50(s)" "p99(s)"
+for q in "rev" "invoice" "login bug" "quarterly rep" "finance" "budget batch 42"; do
+  report=$(hey -n "$REQUESTS" -c 10 -H "Authorization: Bearer $token" \
+    "$BASE_URL/api/tasks/search?q=$(jq -rn --arg q "$q" '$q|@uri')")
+  rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+  p50=$(echo "$report" | awk '/ 50% in/ {print $3}')
+  p99=$(echo "$report" | awk '/ 99% in/ {print $3}')
+  printf "%-28s %-10s %-10s %-10s\n" "$q" "$rps" "$p50" "$p99"
+done
@@ -0,0 +1,100 @@
+-- Columns, tables and indexes added since the initial schema, for databases where
+-- Hibernate does not manage the schema (prod runs with ddl-auto=validate).
+-- Requires MySQL 8.0. Apply in this order, with the application stopped for step 3:
+--   1. this file
+--   2. token-expiry-indexes.sql (expired token purge indexes and the job_leases table)
+--   3. ../migrate-binary-ids.sh (converts task, tag, tombstone and refresh token ids to BINARY(16))
+--   4. task-search-indexes.sql (FULLTEXT indexes, unless the application creates them)
+-- Ids are still VARCHAR here; step 3 converts them along with the tables below.
+
+-- Conditional requests and delta sync (tasks.version, tasks.change_seq, users.task_revision)
+-- and login throttling (users.locked_until). INSTANT adds the columns without a table copy.
+ALTER TABLE users
+    ADD COLUMN locked_until DATETIME(6) NULL,
+    ADD COLUMN task_revision BIGINT DEFAULT 0 NOT NULL,
+    ALGORITHM=INSTANT;
+
+ALTER TABLE tasks
+    ADD COLUMN updated_at DATETIME(6) NULL,
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL,
+    ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL,
+    ALGORITHM=INSTANT;
+
+-- Keyset listing, filtering and delta sync. LOCK=NONE keeps tasks writable while these build.
+CREATE INDEX idx_task_user_created ON tasks (user_id, created_at, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_task_user_status_created ON tasks (user_id, status, created_at, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_task_user_priority_created ON tasks (user_id, priority, created_at, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_task_user_due_date ON tasks (user_id, due_date) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_task_user_change_seq ON tasks (user_id, change_seq, id) ALGORITHM=INPLACE LOCK=NONE;
+
+-- Deleted task markers served by delta sync
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    task_id VARCHAR(255) NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_tombstone_user_seq (user_id, change_seq, task_id),
+    INDEX idx_tombstone_deleted_at (deleted_at)
+) ENGINE=InnoDB;
+
+-- Per-user task statistics counters
+CREATE TABLE IF NOT EXISTS task_counters (
+    user_id BIGINT NOT NULL,
+    counter_key VARCHAR(32) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (user_id, counter_key)
+) ENGINE=InnoDB;
+
+-- Resumable task imports
+CREATE TABLE IF NOT EXISTS task_import_jobs (
+    id VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    status ENUM ('COMPLETED', 'IN_PROGRESS') NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_failed BIGINT NOT NULL,
+    created_at DATETIME(6) NULL,
+    updated_at DATETIME(6) NULL,
+    version BIGINT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_import_job_user (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS task_import_errors (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_id VARCHAR(255) NOT NULL,
+    row_num BIGINT NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_import_error_job_row (job_id, row_num)
+) ENGINE=InnoDB;
+
+-- Shared rate limit buckets (app.rate-limit.backend=jdbc)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(191) NOT NULL,
+    tokens BIGINT NOT NULL,
+    window_start BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (bucket_key),
+    INDEX idx_rate_limit_window_start (window_start)
+) ENGINE=InnoDB;
+
+-- Email outbox; html_body is cleared once an email is sent or gives up
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    html_body TEXT NULL,
+    status ENUM ('FAILED', 'PENDING', 'SENDING', 'SENT') NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claimed_at DATETIME(6) NULL,
+    sent_at DATETIME(6) NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    INDEX idx_email_outbox_due (status, next_attempt_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- FULLTEXT indexes used by GET /api/tasks/search.
+-- Applied automatically on startup unless app.tasks.search.create-indexes=false (production).
+-- The first FULLTEXT index on a table rebuilds it; run during a quiet period on large tables.
+
+ALTER TABLE tasks ADD FULLTEXT INDEX ft_task_title_description (title, description);
+ALTER TABLE task_tags ADD FULLTEXT INDEX ft_task_tag (tag);
@@ -0,0 +1,12 @@
+-- Indexes and lease table used by the expired token purge (ExpiredTokenPurger).
+-- Created by Hibernate when ddl-auto=update; apply manually where the schema is managed separately.
+-- ALGORITHM=INPLACE, LOCK=NONE keeps the token tables writable while the indexes build.
+
+CREATE INDEX idx_refresh_token_expiry ON refresh_tokens (expiry_date) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_password_reset_expiry ON password_reset_tokens (expiry_date) ALGORITHM=INPLACE LOCK=NONE;
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    lease_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    owner VARCHAR(191) NOT NULL,
+    locked_until BIGINT NOT NULL
+);
@@ -0,0 +1,104 @@
+#!/bin/bash
+
+# Compares insert throughput and index size of the two task key layouts: random UUID
+# strings in VARCHAR(255) (the old layout) and time-ordered UUIDs in BINARY(16).
+# Each layout gets a scratch copy of the tasks table with the same secondary indexes
+# and a tags table keyed by task id, filled to BENCH_ROWS rows in batches. Throughput
+# is reported per million rows, so the slowdown as the random index outgrows the
+# buffer pool is visible. Run against a disposable schema, not production.
+#
+# Usage: ./deploy/uuid-key-benchmark.sh
+#   BENCH_ROWS                     rows per layout (default 10000000)
+#   BENCH_BATCH                    rows per INSERT statement (default 10000)
+#   MYSQL_HOST / MYSQL_USER / MYSQL_PWD / BENCH_DATABASE   scratch database (default taskmanager_bench)
+
+set -euo pipefail
+
+if ! command -v mysql &> /dev/null; then
+  echo "ERROR: mysql is not installed"
+  exit 1
+fi
+
+ROWS="${BENCH_ROWS:-10000000}"
+BATCH="${BENCH_BATCH:-10000}"
+DATABASE="${BENCH_DATABASE:-taskmanager_bench}"
+MYSQL=(mysql -h "${MYSQL_HOST:-127.0.0.1}" -u "${MYSQL_USER:-root}" -N -B)
+
+"${MYSQL[@]}" -e "CREATE DATABASE IF NOT EXISTS $DATABASE"
+MYSQL+=("$DATABASE")
+
+"${MYSQL[@]}" <<SQL
+SET SESSION cte_max_recursion_depth = 10000000;
+DROP TABLE IF EXISTS bench_seq;
+CREATE TABLE bench_seq (n INT NOT NULL PRIMARY KEY);
+INSERT INTO bench_seq WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < $BATCH - 1)
+SELECT n FROM seq;
+SQL
+
+# Random v4-style strings, as GenerationType.UUID produced them
+VARCHAR_ID="LOWER(CONCAT_WS('-', HEX(RANDOM_BYTES(4)), HEX(RANDOM_BYTES(2)), CONCAT('4', SUBSTR(HEX(RANDOM_BYTES(2)), 2)),
+            HEX(RANDOM_BYTES(2)), HEX(RANDOM_BYTES(6))))"
+# v7 layout: one synthetic millisecond per row keeps them increasing, as one instance's generator does
+BINARY_ID="UNHEX(CONCAT(LPAD(HEX(@base_ms + @offset + n), 12, '0'), '7', SUBSTR(HEX(RANDOM_BYTES(2)), 2),
+           HEX(RANDOM_BYTES(8))))"
+
+rate() {
+  awk -v rows="$1" -v from="$2" -v to="$3" 'BEGIN { printf "%.0f", rows / (to - from) }'
+}
+
+run() {
+  local layout="$1" id_type="$2" id_expr="$3" offset=0 reported=0 started last_report now
+  "${MYSQL[@]}" <<SQL
+DROP TABLE IF EXISTS bench_tags_$layout;
+DROP TABLE IF EXISTS bench_tasks_$layout;
+CREATE TABLE bench_tasks_$layout (
+  id $id_type NOT NULL PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  change_seq BIGINT NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  INDEX idx_user_created (user_id, created_at, id),
+  INDEX idx_user_status_created (user_id, status, created_at, id),
+  INDEX idx_user_change_seq (user_id, change_seq, id)
+);
+CREATE TABLE bench_tags_$layout (
+  task_id $id_type NOT NULL,
+  tag VARCHAR(255),
+  INDEX idx_task (task_id)
+);
+SQL
+
+  echo "== $layout ($id_type)"
+  printf "%-12s %-12s\n" "rows" "rows/s"
+  started=$(date +%s.%N)
+  last_report=$started
+  while [[ "$offset" -lt "$ROWS" ]]; do
+    "${MYSQL[@]}" <<SQL
+SET @base_ms = 1700000000000, @offset = $offset;
+CREATE TEMPORARY TABLE batch_ids AS SELECT n, $id_expr AS id FROM bench_seq;
+INSERT INTO bench_tasks_$layout (id, user_id, title, status, change_seq, created_at)
+SELECT id, 1 + n % 1000, CONCAT('Task ', @offset + n), ELT(1 + n % 3, 'TODO', 'IN_PROGRESS', 'COMPLETED'),
+       @offset + n, NOW(6)
+FROM batch_ids;
+INSERT INTO bench_tags_$layout (task_id, tag) SELECT id, 'work' FROM batch_ids;
+SQL
+    offset=$((offset + BATCH))
+    if (( offset % 1000000 == 0 || offset >= ROWS )); then
+      now=$(date +%s.%N)
+      printf "%-12s %-12s\n" "$offset" "$(rate $((offset - reported)) "$last_report" "$now")"
+      reported=$offset
+      last_report=$now
+    fi
+  done
+  printf "%-12s %-12s\n" "total" "$(rate "$offset" "$started" "$(date +%s.%N)")"
+}
+
+run varchar "VARCHAR(255)" "$VARCHAR_ID"
+run binary "BINARY(16)" "$BINARY_ID"
+
+echo "== size (MB)"
+"${MYSQL[@]}" -e "ANALYZE TABLE bench_tasks_varchar, bench_tags_varchar, bench_tasks_binary, bench_tags_binary" > /dev/null
+"${MYSQL[@]}" -t -e "SELECT table_name, ROUND(data_length / 1048576) AS data_mb, ROUND(index_length / 1048576) AS index_mb
+                     FROM information_schema.tables
+                     WHERE table_schema = DATABASE() AND table_name LIKE 'bench_ta%' ORDER BY table_name"
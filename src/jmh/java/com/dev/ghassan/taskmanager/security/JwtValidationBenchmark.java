@@ -0,0 +1,70 @@
+package com.dev.ghassan.taskmanager.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates the same access token from many threads at once, the way concurrent
+ * requests hit JwtAuthenticationFilter. {@code perRequestParser} repeats what the filter
+ * did before the parser was prebuilt: derive the key and build a parser for a validity
+ * check, then again to read the subject. {@code prebuiltParser} is the current single
+ * {@link JwtUtil#verify} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class JwtValidationBenchmark {
+    private static final String SECRET = "dGhpcyBpcyBhIGJlbmNobWFyayBzZWNyZXQga2V5IG9mIGF0IGxlYXN0IDI1NiBiaXRz";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(1));
+        jwtUtil.init();
+        token = jwtUtil.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public String perRequestParser() {
+        Jwts.parserBuilder().setSigningKey(signingKey()).build().parseClaimsJws(token);
+        return Jwts.parserBuilder()
+                .setSigningKey(signingKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String prebuiltParser() {
+        return jwtUtil.verify(token).orElseThrow().subject();
+    }
+
+    private static Key signingKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,68 @@
+package com.dev.ghassan.taskmanager.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.owasp.encoder.Encode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Sanitizes 500-character payloads with the scanner and with the regex pipeline it
+ * replaced. {@code plain} is a typical title or description, {@code markup} mixes tags
+ * and special characters, and {@code adversarial} is a run of unclosed script tags that
+ * makes the old script pattern rescan the rest of the input from every tag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputSanitizationBenchmark {
+    private static final int LENGTH = 500;
+
+    private static final Pattern SCRIPT_PATTERN = Pattern.compile("<script[^>]*>.*?</script>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_PATTERN = Pattern.compile("<[^>]+>");
+    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile("('|(\\-\\-)|(;)|(\\|)|(\\*)|(%))", Pattern.CASE_INSENSITIVE);
+
+    @Param({"plain", "markup", "adversarial"})
+    private String payload;
+
+    private final InputSanitizationService sanitizer = new InputSanitizationService();
+    private String input;
+
+    @Setup
+    public void setUp() {
+        String fragment = switch (payload) {
+            case "plain" -> "Prepare the quarterly report and send it to the team before Friday. ";
+            case "markup" -> "Fix <b>login</b> page -- Tom & Jerry's \"plan\"; 50% done <i>today</i> ";
+            case "adversarial" -> "<script x ";
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        };
+        input = fragment.repeat(LENGTH / fragment.length() + 1).substring(0, LENGTH);
+    }
+
+    @Benchmark
+    public String scanner() {
+        return sanitizer.sanitizeString(input);
+    }
+
+    @Benchmark
+    public String regexPipeline() {
+        String sanitized = SCRIPT_PATTERN.matcher(input).replaceAll("");
+        sanitized = HTML_PATTERN.matcher(sanitized).replaceAll("");
+        sanitized = Encode.forHtml(sanitized);
+        sanitized = SQL_INJECTION_PATTERN.matcher(sanitized).replaceAll("");
+        return sanitized.trim();
+    }
+}
@@ -31,6 +31,9 @@ public class CorsConfig {
         
         // Allow all headers
         configuration.setAllowedHeaders(List.of("*"));
+
+        // Let the frontend read ETags for conditional requests
+        configuration.setExposedHeaders(List.of("ETag"));
         
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
@@ -0,0 +1,35 @@
+package com.dev.ghassan.taskmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.auth.login-protection")
+public class LoginProtectionProperties {
+    // Failures are counted over this sliding window, in window-slots steps
+    private Duration window = Duration.ofMinutes(15);
+    private int windowSlots = 15;
+
+    // Failed attempts per account within the window before it is locked
+    private int maxAccountFailures = 5;
+
+    // Failed attempts per client IP within the window before it is turned away (any accounts)
+    private int maxClientFailures = 50;
+
+    // First lock duration; each further lock doubles it up to the maximum
+    private Duration lockDuration = Duration.ofMinutes(1);
+    private Duration maxLockDuration = Duration.ofHours(1);
+
+    // An account's lock history is forgotten after this long without failed attempts
+    private Duration historyRetention = Duration.ofHours(24);
+
+    // Upper bound on tracked accounts and clients, each
+    private long maxKeys = 100_000;
+
+    // Lock writes waiting for the database; further locks stay in memory only
+    private int persistQueueSize = 1_000;
+}
@@ -0,0 +1,81 @@
+package com.dev.ghassan.taskmanager.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    // Bucket storage: "memory" (per node) or "jdbc" (shared across replicas)
+    private String backend = "memory";
+
+    // Share of a bucket's capacity a node reserves per round trip (jdbc backend), at least one token.
+    // Higher values mean fewer database round trips but let a node hold tokens other nodes could have used
+    private double prefetchFraction = 0.2;
+
+    // How long reserved-but-unused tokens stay valid locally (jdbc backend)
+    private Duration prefetchLease = Duration.ofSeconds(5);
+
+    // Applied to any /api/auth/ endpoint without its own entry
+    private Limit defaultLimit = new Limit(10, Duration.ofMinutes(1));
+
+    // Keyed by the path segment after /api/auth/, e.g. login, register, forgot-password
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    // Upper bound on tracked client buckets
+    private long maxKeys = 100_000;
+
+    // Buckets untouched for this long are evicted (never shorter than the longest refill period)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Once this many new clients appear within a window, further new clients share one overflow bucket
+    private int maxNewKeysPerWindow = 10_000;
+    private Duration newKeyWindow = Duration.ofMinutes(1);
+
+    // Only honour X-Forwarded-For / X-Real-IP when running behind a trusted proxy. Otherwise any client
+    // could pick its own address and with it a fresh bucket on every request
+    private boolean trustForwardedHeaders = false;
+
+    // Addresses or CIDR ranges of the proxies allowed to set those headers; requests from anywhere
+    // else are keyed by their socket address even when trustForwardedHeaders is on
+    private List<String> trustedProxies = new ArrayList<>();
+
+    public static final String DEFAULT_ENDPOINT = "default";
+
+    // Unknown paths collapse to one name so arbitrary URLs cannot mint new bucket namespaces
+    public String resolveEndpoint(String name) {
+        return endpoints.containsKey(name) ? name : DEFAULT_ENDPOINT;
+    }
+
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultLimit);
+    }
+
+    public long prefetchFor(Limit limit) {
+        return Math.max(1, Math.min((long) (limit.getCapacity() * prefetchFraction), limit.getCapacity()));
+    }
+
+    public Duration longestPeriod() {
+        return endpoints.values().stream()
+                .map(Limit::getPeriod)
+                .reduce(defaultLimit.getPeriod(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long capacity;
+        private Duration period;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dev.ghassan.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything
+ * else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the
+ * transaction's read-only flag is known when the connection is fetched.
+ *
+ * A user who wrote recently keeps reading from the primary for a short window, and
+ * an unreachable replica is skipped for a back-off period instead of failing reads.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration replicaRetryDelay;
+    private final Cache<String, Boolean> recentWriters;
+    private volatile long replicaRetryAt;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      Duration readYourWritesWindow, Duration replicaRetryDelay) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaRetryDelay = replicaRetryDelay;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaRetryAt = System.currentTimeMillis() + replicaRetryDelay.toMillis();
+                log.warn("Replica unavailable, routing reads to primary for {}: {}", replicaRetryDelay, e.getMessage());
+            }
+            return primary.getConnection();
+        }
+        recordWrite();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (System.currentTimeMillis() < replicaRetryAt) {
+            return false;
+        }
+        String user = currentUser();
+        return user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    private void recordWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -1,6 +1,8 @@
 package com.dev.ghassan.taskmanager.config;
 
-import com.dev.ghassan.taskmanager.service.RefreshTokenService;
+import com.dev.ghassan.taskmanager.service.EmailOutboxPurger;
+import com.dev.ghassan.taskmanager.service.ExpiredTokenPurger;
+import com.dev.ghassan.taskmanager.service.TombstoneCompactor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -12,11 +14,25 @@ import org.springframework.scheduling.annotation.Scheduled;
 @RequiredArgsConstructor
 @Slf4j
 public class SchedulingConfig {
-    private final RefreshTokenService refreshTokenService;
+    private final ExpiredTokenPurger expiredTokenPurger;
+    private final EmailOutboxPurger emailOutboxPurger;
+    private final TombstoneCompactor tombstoneCompactor;
 
-    @Scheduled(fixedRate = 3600000) // Run every hour
+    @Scheduled(fixedDelayString = "${app.tokens.purge.interval:3600000}") // Run every hour
     public void cleanupExpiredTokens() {
-        log.info("Cleaning up expired refresh tokens");
-        refreshTokenService.deleteExpiredTokens();
+        log.debug("Purging expired refresh and password reset tokens");
+        expiredTokenPurger.purgeExpiredTokens();
     }
-}
\ No newline at end of file
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge.interval:3600000}")
+    public void purgeEmailOutbox() {
+        log.debug("Purging sent and failed emails from the outbox");
+        emailOutboxPurger.purgeFinishedEmails();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.sync.compaction-interval:3600000}")
+    public void compactTombstones() {
+        log.debug("Compacting expired task tombstones");
+        tombstoneCompactor.compactTombstones();
+    }
+}
@@ -0,0 +1,53 @@
+package com.dev.ghassan.taskmanager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FULLTEXT indexes behind task search. JPA index annotations cannot
+ * express them, so they are added here when missing. Environments that manage
+ * the schema themselves disable this and apply deploy/sql/task-search-indexes.sql.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tasks.search.create-indexes", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndexInitializer {
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                log.warn("Task search needs MySQL FULLTEXT indexes; skipping index creation on {}", product);
+                return;
+            }
+            createIfMissing("tasks", "ft_task_title_description", "title, description");
+            createIfMissing("task_tags", "ft_task_tag", "tag");
+        } catch (DataAccessException e) {
+            // Another instance may be creating the same index; search works once either finishes
+            log.warn("Could not create task search indexes: {}", e.getMessage());
+        }
+    }
+
+    private void createIfMissing(String table, String index, String columns) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        log.info("Creating FULLTEXT index {} on {}({})", index, table, columns);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + index + " (" + columns + ")");
+    }
+}
@@ -1,16 +1,13 @@
 package com.dev.ghassan.taskmanager.controller;
 
 import com.dev.ghassan.taskmanager.dto.*;
-import com.dev.ghassan.taskmanager.exception.TokenRefreshException;
-import com.dev.ghassan.taskmanager.model.RefreshToken;
-import com.dev.ghassan.taskmanager.security.JwtUtil;
+import com.dev.ghassan.taskmanager.security.ClientIpResolver;
 import com.dev.ghassan.taskmanager.service.PasswordResetService;
-import com.dev.ghassan.taskmanager.service.RefreshTokenService;
 import com.dev.ghassan.taskmanager.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -22,12 +19,8 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class AuthController {
     private final UserService userService;
-    private final RefreshTokenService refreshTokenService;
     private final PasswordResetService passwordResetService;
-    private final JwtUtil jwtUtil;
-    
-    @Value("${jwt.expiration:900000}")
-    private Long jwtExpiration;
+    private final ClientIpResolver clientIpResolver;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -37,9 +30,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request received for email: {}", request.getEmail());
-        AuthResponse response = userService.login(request);
+        AuthResponse response = userService.login(request, clientIpResolver.resolve(httpRequest));
         return ResponseEntity.ok(response);
     }
 
@@ -47,28 +40,7 @@ public class AuthController {
     public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
         log.info("Token refresh request received");
         
-        String requestRefreshToken = request.getRefreshToken();
-        
-        return refreshTokenService.findByToken(requestRefreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String newAccessToken = jwtUtil.generateToken(user.getEmail());
-                    
-                    AuthResponse response = AuthResponse.builder()
-                            .accessToken(newAccessToken)
-                            .refreshToken(requestRefreshToken)
-                            .expiresIn(jwtExpiration / 1000)
-                            .user(AuthResponse.UserInfo.builder()
-                                    .id(user.getId())
-                                    .username(user.getUsername())
-                                    .email(user.getEmail())
-                                    .build())
-                            .build();
-                    
-                    return ResponseEntity.ok(response);
-                })
-                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+        return ResponseEntity.ok(userService.refresh(request.getRefreshToken()));
     }
     
     @GetMapping("/profile")
@@ -1,15 +1,40 @@
 package com.dev.ghassan.taskmanager.controller;
 
+import com.dev.ghassan.taskmanager.dto.TaskBatchCreateRequest;
+import com.dev.ghassan.taskmanager.dto.TaskBatchDeleteRequest;
+import com.dev.ghassan.taskmanager.dto.TaskBatchResponse;
+import com.dev.ghassan.taskmanager.dto.TaskBatchUpdateRequest;
+import com.dev.ghassan.taskmanager.dto.TaskChangesResponse;
+import com.dev.ghassan.taskmanager.dto.TaskFilter;
+import com.dev.ghassan.taskmanager.dto.TaskImportResponse;
+import com.dev.ghassan.taskmanager.dto.TaskPageResponse;
 import com.dev.ghassan.taskmanager.dto.TaskRequest;
 import com.dev.ghassan.taskmanager.dto.TaskResponse;
+import com.dev.ghassan.taskmanager.dto.TaskSearchResponse;
+import com.dev.ghassan.taskmanager.dto.TaskStatsResponse;
 import com.dev.ghassan.taskmanager.dto.TaskStatusRequest;
+import com.dev.ghassan.taskmanager.dto.TaskStatusResponse;
+import com.dev.ghassan.taskmanager.exception.ConflictException;
+import com.dev.ghassan.taskmanager.exception.PreconditionFailedException;
+import com.dev.ghassan.taskmanager.service.TaskExportService;
 import com.dev.ghassan.taskmanager.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -17,29 +42,134 @@ import java.util.List;
 public class TaskController {
     private final TaskService taskService;
 
+    // Private so shared caches never store it, no-cache so clients always revalidate with the ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // A null body after checkNotModified() tells Spring MVC the 304 has already been written
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<TaskResponse>> getAllTasks(WebRequest webRequest) {
+        String etag = TaskEtags.forList(taskService.getTaskListVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(taskService.getAllTasks());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TaskPageResponse> getTasksPage(TaskFilter filter,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         WebRequest webRequest) {
+        String etag = TaskEtags.forList(taskService.getTaskListVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(taskService.getTasksPage(filter, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(@RequestParam(required = false) String since,
+                                                          @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getChanges(since, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(required = false) String format) {
+        TaskExportService.Format exportFormat = TaskExportService.Format.parse(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(taskService.exportTasks(exportFormat));
+    }
+
+    // The body is read as it arrives; use /import/jobs first to get a job id that can resume an interrupted upload
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResponse> importTasks(@RequestParam(required = false) String format,
+                                                          @RequestParam(required = false) String jobId,
+                                                          @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                          InputStream body) throws IOException {
+        return ResponseEntity.ok(taskService.importTasks(importFormat(format, contentType), jobId, body));
+    }
+
+    @PostMapping("/import/jobs")
+    public ResponseEntity<TaskImportResponse> createImportJob(@RequestParam(required = false) String format) {
+        return ResponseEntity.ok(taskService.createImportJob(TaskExportService.Format.parse(format)));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<TaskImportResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(taskService.getImportJob(jobId));
+    }
+
+    private static TaskExportService.Format importFormat(String format, String contentType) {
+        if (format == null && contentType != null && contentType.startsWith(TaskExportService.Format.CSV.getContentType())) {
+            return TaskExportService.Format.CSV;
+        }
+        return TaskExportService.Format.parse(format);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats() {
+        return ResponseEntity.ok(taskService.getStats());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> searchTasks(@RequestParam("q") String query,
+                                                          @RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskService.searchTasks(query, page, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return taskService.subscribeToChanges();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable String id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable String id, WebRequest webRequest) {
+        // Revalidation only needs the version column, not the task and its tags
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(TaskEtags.forTask(taskService.getTaskVersion(id)))) {
+            return null;
+        }
+        TaskResponse task = taskService.getTaskById(id);
+        return ResponseEntity.ok().eTag(TaskEtags.forTask(task.getVersion())).cacheControl(REVALIDATE).body(task);
     }
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.ok(taskService.createTask(request));
+        TaskResponse task = taskService.createTask(request);
+        return ResponseEntity.ok().eTag(TaskEtags.forTask(task.getVersion())).body(task);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable String id, @Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.ok(taskService.updateTask(id, request));
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable String id, @Valid @RequestBody TaskRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponse task = ifMatch(ifMatch, expectedVersion -> taskService.updateTask(id, request, expectedVersion));
+        return ResponseEntity.ok().eTag(TaskEtags.forTask(task.getVersion())).body(task);
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable String id, @Valid @RequestBody TaskStatusRequest request) {
-        return ResponseEntity.ok(taskService.updateTaskStatus(id, request.getStatus()));
+    public ResponseEntity<TaskStatusResponse> updateTaskStatus(@PathVariable String id, @Valid @RequestBody TaskStatusRequest request,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskStatusResponse status = ifMatch == null
+                ? taskService.updateTaskStatus(id, request.getStatus(), request.getVersion())
+                : ifMatch(ifMatch, expectedVersion -> taskService.updateTaskStatus(id, request.getStatus(), expectedVersion));
+        return ResponseEntity.ok().eTag(TaskEtags.forTask(status.getVersion())).body(status);
+    }
+
+    // The expected version is checked inside the write, so a lost race surfaces as 412 rather than 409
+    private <T> T ifMatch(String ifMatch, Function<Long, T> update) {
+        Long expectedVersion = TaskEtags.expectedVersion(ifMatch);
+        try {
+            return update.apply(expectedVersion);
+        } catch (ConflictException | ObjectOptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("The task was modified since it was read");
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -47,4 +177,19 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(@Valid @RequestBody TaskBatchCreateRequest request) {
+        return ResponseEntity.ok(taskService.createTasks(request.getTasks()));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> updateTasks(@Valid @RequestBody TaskBatchUpdateRequest request) {
+        return ResponseEntity.ok(taskService.updateTasks(request.getTasks()));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<TaskBatchResponse> deleteTasks(@Valid @RequestBody TaskBatchDeleteRequest request) {
+        return ResponseEntity.ok(taskService.deleteTasks(request.getIds()));
+    }
 }
\ No newline at end of file
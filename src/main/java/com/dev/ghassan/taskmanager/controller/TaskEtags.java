@@ -0,0 +1,33 @@
+package com.dev.ghassan.taskmanager.controller;
+
+import com.dev.ghassan.taskmanager.exception.PreconditionFailedException;
+
+final class TaskEtags {
+    private TaskEtags() {
+    }
+
+    static String forList(String listVersion) {
+        return "\"tasks-" + listVersion + "\"";
+    }
+
+    static String forTask(Long version) {
+        return "\"v" + version + "\"";
+    }
+
+    // Returns null when there is no precondition to check ("*" or no header)
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison, so weak or foreign tags can never match
+        if (tag.length() < 4 || !tag.startsWith("\"v") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current task version");
+        }
+        try {
+            return Long.parseLong(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current task version");
+        }
+    }
+}
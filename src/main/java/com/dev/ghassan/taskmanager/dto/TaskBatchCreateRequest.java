@@ -0,0 +1,13 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchCreateRequest {
+    // Items are validated individually so one bad row does not reject the batch
+    @NotEmpty(message = "At least one task is required")
+    private List<TaskRequest> tasks;
+}
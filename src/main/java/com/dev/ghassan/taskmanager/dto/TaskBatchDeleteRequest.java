@@ -0,0 +1,12 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchDeleteRequest {
+    @NotEmpty(message = "At least one task id is required")
+    private List<String> ids;
+}
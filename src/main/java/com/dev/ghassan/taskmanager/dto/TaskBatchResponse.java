@@ -0,0 +1,24 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<TaskBatchResult> results;
+
+    public static TaskBatchResponse of(List<TaskBatchResult> results) {
+        int failed = (int) results.stream()
+                .filter(result -> result.getStatus() == TaskBatchResult.Status.INVALID
+                        || result.getStatus() == TaskBatchResult.Status.NOT_FOUND)
+                .count();
+        return new TaskBatchResponse(results.size() - failed, failed, results);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskBatchUpdateItem extends TaskRequest {
+    @NotBlank(message = "Task id is required")
+    private String id;
+}
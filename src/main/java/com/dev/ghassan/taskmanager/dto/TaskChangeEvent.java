@@ -0,0 +1,35 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeEvent {
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    private Type type;
+    private String id;
+    // Same sequence as the delta sync cursor, so clients can tell which changes they have seen
+    private Long changeSeq;
+    private Long version;
+    private TaskStatus status;
+    private TaskResponse task;
+
+    public static TaskChangeEvent of(Type type, TaskResponse task, Long changeSeq) {
+        return new TaskChangeEvent(type, task.getId(), changeSeq, task.getVersion(), task.getStatus(), task);
+    }
+
+    public static TaskChangeEvent statusChanged(TaskStatusResponse status, Long changeSeq) {
+        return new TaskChangeEvent(Type.STATUS_CHANGED, status.getId(), changeSeq, status.getVersion(), status.getStatus(), null);
+    }
+
+    public static TaskChangeEvent deleted(String id, Long changeSeq) {
+        return new TaskChangeEvent(Type.DELETED, id, changeSeq, null, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskResponse> changed;
+    private List<String> deleted;
+    private String nextCursor;
+    private boolean hasMore;
+    // The cursor is too old to replay deletes; the client must discard local state and sync without a cursor
+    private boolean resetRequired;
+
+    public static TaskChangesResponse reset() {
+        return new TaskChangesResponse(List.of(), List.of(), null, false, true);
+    }
+}
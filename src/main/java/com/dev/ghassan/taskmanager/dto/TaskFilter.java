@@ -0,0 +1,22 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TaskFilter {
+    private TaskStatus status;
+    private TaskPriority priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    private String tag;
+}
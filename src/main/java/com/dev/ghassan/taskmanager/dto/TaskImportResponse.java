@@ -0,0 +1,30 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import com.dev.ghassan.taskmanager.model.TaskImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    // Pass back as jobId to resume an interrupted import with the same file
+    private String jobId;
+    private TaskImportStatus status;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+    // First failing rows in file order; rowsFailed has the full count
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -16,5 +16,7 @@ public class TaskResponse {
     private TaskPriority priority;
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private List<String> tags;
+    private Long version;
 }
\ No newline at end of file
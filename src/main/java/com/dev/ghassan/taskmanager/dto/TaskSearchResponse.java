@@ -0,0 +1,18 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    // Ordered by relevance, best match first
+    private List<TaskResponse> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
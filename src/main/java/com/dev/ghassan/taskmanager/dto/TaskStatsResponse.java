@@ -0,0 +1,22 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+    // Open tasks due before today
+    private long overdue;
+    // Open tasks due today or in the next six days
+    private long dueThisWeek;
+}
@@ -8,4 +8,7 @@ import lombok.Data;
 public class TaskStatusRequest {
     @NotNull(message = "Status is required")
     private TaskStatus status;
+
+    // Optional expected version; when present the update fails with 409 if the task changed
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.dev.ghassan.taskmanager.dto;
+
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusResponse {
+    private String id;
+    private TaskStatus status;
+    private Long version;
+}
@@ -1,6 +1,8 @@
 package com.dev.ghassan.taskmanager.filter;
 
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
 import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.security.ClientIpResolver;
 import com.dev.ghassan.taskmanager.service.RateLimitService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,6 +18,10 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
     private final RateLimitService rateLimitService;
+    private final RateLimitProperties properties;
+    private final ClientIpResolver clientIpResolver;
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -23,28 +29,15 @@ public class RateLimitFilter extends OncePerRequestFilter {
         
         String path = request.getRequestURI();
         
-        if (path.startsWith("/api/auth/")) {
-            String clientIp = getClientIp(request);
+        if (path.startsWith(AUTH_PATH_PREFIX)) {
+            String endpoint = properties.resolveEndpoint(path.substring(AUTH_PATH_PREFIX.length()));
+            String clientIp = clientIpResolver.resolve(request);
             
-            if (!rateLimitService.tryConsume(clientIp)) {
+            if (!rateLimitService.tryConsume(endpoint, clientIp)) {
                 throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
             }
         }
         
         filterChain.doFilter(request, response);
     }
-
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.dev.ghassan.taskmanager.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Keeps UUID identifiers as canonical strings in the entities and the API while
+ * storing them as BINARY(16). A user type rather than an AttributeConverter, since
+ * Hibernate ignores converters on identifiers. Byte order matches the order of the
+ * lowercase strings, so keyset cursors compare the same either way. A string that is
+ * not a UUID becomes the nil UUID, which no row has, so lookups by a malformed id find nothing.
+ */
+public class BinaryUuidType implements UserType<String> {
+    private static final byte[] NIL = new byte[16];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.BINARY;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        byte[] value = rs.getBytes(position);
+        return value == null ? null : toUuidString(value);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.BINARY);
+        } else {
+            st.setBytes(index, toBinary(value));
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+
+    public static byte[] toBinary(String id) {
+        if (id.length() != 36) {
+            return NIL.clone();
+        }
+        byte[] bytes = new byte[16];
+        int b = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (id.charAt(i) != '-') {
+                    return NIL.clone();
+                }
+                continue;
+            }
+            int high = Character.digit(id.charAt(i), 16);
+            int low = Character.digit(id.charAt(++i), 16);
+            if (high < 0 || low < 0) {
+                return NIL.clone();
+            }
+            bytes[b++] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+
+    public static String toUuidString(byte[] value) {
+        char[] chars = new char[36];
+        int c = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[c++] = '-';
+            }
+            chars[c++] = HEX[(value[i] >> 4) & 0xF];
+            chars[c++] = HEX[value[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
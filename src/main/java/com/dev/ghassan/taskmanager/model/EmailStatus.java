@@ -0,0 +1,8 @@
+package com.dev.ghassan.taskmanager.model;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
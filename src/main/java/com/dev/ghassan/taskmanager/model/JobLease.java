@@ -0,0 +1,29 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cluster-wide lease for a background job, so only one instance runs it at a time.
+ * Mapped so the schema is managed with the rest of the tables; reads and writes go
+ * through JdbcLeaseLock.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+    @Id
+    @Column(name = "lease_name", length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 191)
+    private String owner;
+
+    // Epoch millis until which the owner holds the lease
+    @Column(name = "locked_until", nullable = false)
+    private long lockedUntil;
+}
@@ -0,0 +1,33 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared rate-limit bucket state for the jdbc backend. Mapped so the schema is
+ * managed with the rest of the tables; reads and writes go through JdbcRateLimitStore.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+    @Index(name = "idx_rate_limit_window_start", columnList = "window_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+    @Id
+    @Column(name = "bucket_key", length = 191)
+    private String key;
+
+    @Column(nullable = false)
+    private long tokens;
+
+    // Epoch millis of the current refill window
+    @Column(name = "window_start", nullable = false)
+    private long windowStart;
+
+    @Column(nullable = false)
+    private long version;
+}
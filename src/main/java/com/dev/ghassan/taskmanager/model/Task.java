@@ -4,19 +4,31 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_task_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_task_user_status_created", columnList = "user_id, status, created_at, id"),
+    @Index(name = "idx_task_user_priority_created", columnList = "user_id, priority, created_at, id"),
+    @Index(name = "idx_task_user_due_date", columnList = "user_id, due_date"),
+    @Index(name = "idx_task_user_change_seq", columnList = "user_id, change_seq, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @Column(nullable = false)
@@ -35,8 +47,23 @@ public class Task {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Owner's task revision at the last write; orders changes for delta sync
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
+    // Default lets existing rows pick up a version when the column is added
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ElementCollection
-    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id", columnDefinition = "BINARY(16)"))
     @Column(name = "tag")
     private List<String> tags;
 
@@ -0,0 +1,60 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One per-user task statistic, kept in step with task writes by TaskStatsService.
+ * Keys look like "tasks" (the total, whose presence marks the user as initialized),
+ * "status:TODO", "priority:HIGH" and "due:2025-01-31" (open tasks due that day).
+ * ISO dates sort lexically, so a range of due days is a range of keys. Due days
+ * before "overdue-through" (an epoch day) have been folded into "overdue".
+ */
+@Entity
+@Table(name = "task_counters")
+@IdClass(TaskCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCounter {
+    public static final String TOTAL = "tasks";
+    public static final String DUE_PREFIX = "due:";
+    public static final String OVERDUE = "overdue";
+    public static final String OVERDUE_THROUGH = "overdue-through";
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "counter_key", length = 32)
+    private String key;
+
+    @Column(nullable = false)
+    private long total;
+
+    public static String statusKey(TaskStatus status) {
+        return "status:" + status.name();
+    }
+
+    public static String priorityKey(TaskPriority priority) {
+        return "priority:" + priority.name();
+    }
+
+    public static String dueKey(LocalDate day) {
+        return DUE_PREFIX + day;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private String key;
+    }
+}
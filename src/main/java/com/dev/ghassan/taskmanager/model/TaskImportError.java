@@ -0,0 +1,32 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "task_import_errors", indexes = {
+    @Index(name = "idx_import_error_job_row", columnList = "job_id, row_num")
+})
+@Data
+@NoArgsConstructor
+public class TaskImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private String jobId;
+
+    @Column(name = "row_num", nullable = false)
+    private long rowNumber;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    public TaskImportError(String jobId, long rowNumber, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.message = message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
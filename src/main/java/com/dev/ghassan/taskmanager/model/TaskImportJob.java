@@ -0,0 +1,60 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one task import. rowsProcessed is committed together with each chunk
+ * of imported tasks, so re-uploading the file with the job id resumes exactly after
+ * the last committed row.
+ */
+@Entity
+@Table(name = "task_import_jobs", indexes = {
+    @Index(name = "idx_import_job_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+public class TaskImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 10)
+    private String format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskImportStatus status = TaskImportStatus.IN_PROGRESS;
+
+    @Column(nullable = false)
+    private long rowsProcessed;
+
+    @Column(nullable = false)
+    private long rowsImported;
+
+    @Column(nullable = false)
+    private long rowsFailed;
+
+    // Two uploads resuming the same job cannot both commit the same chunk
+    @Version
+    private Long version;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public TaskImportJob(Long userId, String format) {
+        this.userId = userId;
+        this.format = format;
+    }
+}
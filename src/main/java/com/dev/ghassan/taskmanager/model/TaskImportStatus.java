@@ -0,0 +1,6 @@
+package com.dev.ghassan.taskmanager.model;
+
+public enum TaskImportStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
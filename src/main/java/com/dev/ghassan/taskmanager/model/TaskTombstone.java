@@ -0,0 +1,44 @@
+package com.dev.ghassan.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a task is hard-deleted, so delta sync can tell clients
+ * to drop it. Old markers are compacted once no valid sync cursor can predate them.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_tombstone_user_seq", columnList = "user_id, change_seq, task_id"),
+    @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Type(BinaryUuidType.class)
+    @Column(name = "task_id", nullable = false, columnDefinition = "BINARY(16)")
+    private String taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone(String taskId, Long userId, Long changeSeq, LocalDateTime deletedAt) {
+        this(null, taskId, userId, changeSeq, deletedAt);
+    }
+}
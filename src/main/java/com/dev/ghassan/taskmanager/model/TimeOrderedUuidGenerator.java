@@ -0,0 +1,41 @@
+package com.dev.ghassan.taskmanager.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 identifiers (RFC 9562): a 48-bit millisecond timestamp, then a 12-bit
+ * sequence and 62 random bits. Stored as BINARY(16), new rows land at the end of
+ * the clustered index instead of splitting pages all over it. The sequence keeps
+ * ids from one instance strictly increasing even within a millisecond; once it runs
+ * out, the timestamp is advanced early rather than going backwards.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        // Timestamp in the upper bits, sequence in the low 12
+        long stamp = LAST.updateAndGet(last -> Math.max(System.currentTimeMillis() << 12, last + 1));
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -43,6 +44,16 @@ public class User {
     @Builder.Default
     private Boolean accountLocked = false;
 
+    // Set after repeated failed logins; unlike accountLocked it does not end existing sessions
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    // Bumped on every write to the user's tasks; a cheap change marker for list ETags
+    @Column(name = "task_revision", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long taskRevision = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,34 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.EmailOutbox;
+import com.dev.ghassan.taskmanager.model.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(EmailStatus status, LocalDateTime now, Pageable pageable);
+
+    // Conditional claim so each message is sent by exactly one worker, even across replicas
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :claimed, e.claimedAt = :now " +
+           "WHERE e.id = :id AND e.status = :pending AND e.nextAttemptAt <= :now")
+    int claim(Long id, EmailStatus pending, EmailStatus claimed, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :pending WHERE e.status = :claimed AND e.claimedAt < :staleBefore")
+    int releaseStaleClaims(EmailStatus pending, EmailStatus claimed, LocalDateTime staleBefore);
+
+    long countByStatus(EmailStatus status);
+}
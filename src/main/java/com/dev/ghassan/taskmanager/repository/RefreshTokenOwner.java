@@ -0,0 +1,9 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token together with the identity fields of its owner, read in one query.
+ */
+public record RefreshTokenOwner(String tokenId, LocalDateTime expiryDate, Long userId, String username, String email) {
+}
@@ -3,15 +3,22 @@ package com.dev.ghassan.taskmanager.repository;
 import com.dev.ghassan.taskmanager.model.RefreshToken;
 import com.dev.ghassan.taskmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
-    Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> findByUser(User user);
-    void deleteByExpiryDateBefore(LocalDateTime now);
+    // Unique index on token, joined to the owner's primary key: one indexed round trip per refresh
+    @Query("SELECT new com.dev.ghassan.taskmanager.repository.RefreshTokenOwner(t.id, t.expiryDate, u.id, u.username, u.email) "
+            + "FROM RefreshToken t JOIN t.user u WHERE t.token = :token")
+    Optional<RefreshTokenOwner> findOwnerByToken(String token);
+
+    // Ids are time ordered, so skipping the newest ones leaves the oldest tokens past the cap
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId ORDER BY t.id DESC OFFSET :keep ROWS")
+    List<String> findIdsBeyondNewest(Long userId, int keep);
+
     void deleteByUser(User user);
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.TaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+    // Key and total pairs; due counters from dueBefore onwards are skipped. Scalars rather than
+    // entities, so counters changed by the bulk updates below are never served from the session
+    @Query("SELECT c.key, c.total FROM TaskCounter c WHERE c.userId = :userId " +
+           "AND (c.key NOT LIKE 'due:%' OR c.key < :dueBefore)")
+    List<Object[]> findForStats(Long userId, String dueBefore);
+
+    List<TaskCounter> findByUserId(Long userId);
+
+    @Query("SELECT c.total FROM TaskCounter c WHERE c.userId = :userId AND c.key = :key")
+    Optional<Long> findTotal(Long userId, String key);
+
+    @Query("SELECT COALESCE(SUM(c.total), 0) FROM TaskCounter c " +
+           "WHERE c.userId = :userId AND c.key LIKE 'due:%' AND c.key < :dueBefore")
+    long sumDueBefore(Long userId, String dueBefore);
+
+    @Modifying
+    @Query("DELETE FROM TaskCounter c WHERE c.userId = :userId AND c.key LIKE 'due:%' AND c.key < :dueBefore")
+    int deleteDueBefore(Long userId, String dueBefore);
+
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.total = c.total + :delta WHERE c.userId = :userId AND c.key = :key")
+    int increment(Long userId, String key, long delta);
+
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.total = :total WHERE c.userId = :userId AND c.key = :key")
+    int set(Long userId, String key, long total);
+
+    // Plain insert: save() would first select, and the caller already knows the row is missing
+    @Modifying
+    @Query(value = "INSERT INTO task_counters (user_id, counter_key, total) VALUES (:userId, :key, :total)",
+           nativeQuery = true)
+    int insert(Long userId, String key, long total);
+
+    @Modifying
+    @Query("DELETE FROM TaskCounter c WHERE c.userId = :userId")
+    int deleteByUserId(Long userId);
+}
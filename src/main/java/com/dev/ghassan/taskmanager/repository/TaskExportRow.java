@@ -0,0 +1,15 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One task/tag pair of the export query. A task with several tags spans consecutive
+ * rows; a task without tags has a single row with a null tag.
+ */
+public record TaskExportRow(String id, String title, String description, TaskStatus status, TaskPriority priority,
+                            LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
+                            String tag) {
+}
@@ -0,0 +1,13 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.TaskImportError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskImportErrorRepository extends JpaRepository<TaskImportError, Long> {
+    List<TaskImportError> findByJobIdOrderByRowNumber(String jobId, Limit limit);
+}
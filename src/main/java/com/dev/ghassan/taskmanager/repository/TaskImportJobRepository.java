@@ -0,0 +1,12 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.TaskImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskImportJobRepository extends JpaRepository<TaskImportJob, String> {
+    Optional<TaskImportJob> findByIdAndUserId(String id, Long userId);
+}
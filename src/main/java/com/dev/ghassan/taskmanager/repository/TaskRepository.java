@@ -1,15 +1,112 @@
 package com.dev.ghassan.taskmanager.repository;
 
 import com.dev.ghassan.taskmanager.model.Task;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
 import com.dev.ghassan.taskmanager.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task> {
+    @EntityGraph(attributePaths = "tags")
     List<Task> findByUser(User user);
+
+    @EntityGraph(attributePaths = "tags")
     Optional<Task> findByIdAndUser(String id, User user);
+
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findByUserAndIdIn(User user, Collection<String> ids);
+
+    // No entity graph: a collection fetch would disable the SQL limit; tags are batch-loaded instead
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId " +
+           "AND (t.changeSeq > :changeSeq OR (t.changeSeq = :changeSeq AND t.id > :id)) " +
+           "ORDER BY t.changeSeq, t.id")
+    List<Task> findChangedSince(Long userId, long changeSeq, String id, Limit limit);
+
+    // Relevance over title/description plus the best matching tag. Each branch of the UNION is its own
+    // FULLTEXT lookup; an OR of the two MATCHes would make MySQL scan and score all the user's tasks.
+    // Both FULLTEXT indexes are created outside Hibernate (see TaskSearchIndexInitializer); requires MySQL
+    @Query(value = "SELECT BIN_TO_UUID(m.task_id) AS id, SUM(m.score) AS score FROM (" +
+                   "    SELECT t.id AS task_id, MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE) AS score " +
+                   "    FROM tasks t " +
+                   "    WHERE t.user_id = :userId AND MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE) " +
+                   "  UNION ALL " +
+                   "    SELECT tt.task_id, MAX(MATCH(tt.tag) AGAINST (:query IN BOOLEAN MODE)) " +
+                   "    FROM task_tags tt JOIN tasks owned ON owned.id = tt.task_id " +
+                   "    WHERE owned.user_id = :userId AND MATCH(tt.tag) AGAINST (:query IN BOOLEAN MODE) " +
+                   "    GROUP BY tt.task_id" +
+                   ") m " +
+                   "GROUP BY m.task_id " +
+                   "ORDER BY score DESC, m.task_id " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<TaskSearchHit> search(Long userId, String query, int limit, int offset);
+
+    // Scalar rows, so nothing accumulates in the persistence context however many tasks stream past.
+    // Ordered along idx_task_user_created, which also keeps each task's tag rows together.
+    // A fetch size of Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of
+    // buffering the result; the connection can run nothing else until the stream is closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.dev.ghassan.taskmanager.repository.TaskExportRow(" +
+           "t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt, t.version, tag) " +
+           "FROM Task t LEFT JOIN t.tags tag WHERE t.user.id = :userId ORDER BY t.createdAt, t.id")
+    Stream<TaskExportRow> streamForExport(Long userId);
+
+    @Query("SELECT new com.dev.ghassan.taskmanager.repository.TaskStatsSnapshot(t.status, t.priority, t.dueDate, t.version) " +
+           "FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TaskStatsSnapshot> findStatsSnapshot(String id, Long userId);
+
+    // Full recounts, used only to initialize or reconcile the incremental task_counters rows
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.user.id = :userId GROUP BY t.status")
+    List<Object[]> countByStatus(Long userId);
+
+    @Query("SELECT t.priority, COUNT(t) FROM Task t WHERE t.user.id = :userId GROUP BY t.priority")
+    List<Object[]> countByPriority(Long userId);
+
+    @Query("SELECT cast(t.dueDate as LocalDate), COUNT(t) FROM Task t " +
+           "WHERE t.user.id = :userId AND t.dueDate IS NOT NULL " +
+           "AND t.status <> com.dev.ghassan.taskmanager.model.TaskStatus.COMPLETED " +
+           "GROUP BY cast(t.dueDate as LocalDate)")
+    List<Object[]> countOpenByDueDay(Long userId);
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(String id, Long userId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1, t.changeSeq = :changeSeq, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int updateStatus(String id, Long userId, TaskStatus status, Long changeSeq, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1, t.changeSeq = :changeSeq, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.user.id = :userId AND t.version = :version")
+    int updateStatusIfVersion(String id, Long userId, TaskStatus status, Long version, Long changeSeq, LocalDateTime now);
+
+    // task_tags is not an entity, so the collection rows are removed natively before the owning task.
+    // Native parameters bypass the id type; pass BinaryUuidType.toBinary(id)
+    @Modifying
+    @Query(value = "DELETE FROM task_tags WHERE task_id IN (SELECT id FROM tasks WHERE id = :id AND user_id = :userId)",
+           nativeQuery = true)
+    int deleteTagsByIdAndUserId(byte[] id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteByIdAndUserId(String id, Long userId);
 }
\ No newline at end of file
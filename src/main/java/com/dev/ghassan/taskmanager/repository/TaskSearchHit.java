@@ -0,0 +1,7 @@
+package com.dev.ghassan.taskmanager.repository;
+
+public interface TaskSearchHit {
+    String getId();
+
+    Double getScore();
+}
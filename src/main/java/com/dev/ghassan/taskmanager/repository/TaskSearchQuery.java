@@ -0,0 +1,55 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns free text into a MySQL boolean-mode full-text expression. Every term is required,
+ * and the last one is matched as a prefix so results follow the user while they type.
+ * Operator characters are never passed through, so input cannot change the query shape.
+ */
+public final class TaskSearchQuery {
+    private TaskSearchQuery() {
+    }
+
+    /**
+     * @return the boolean-mode expression, or null when nothing searchable remains
+     */
+    public static String toBooleanMode(String text, int minTermLength, int maxTerms) {
+        if (text == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (terms.size() > maxTerms) {
+            terms = terms.subList(0, maxTerms);
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean last = i == terms.size() - 1;
+            // Whole words below the index's minimum token size are never indexed and could never match
+            if (!last && term.length() < minTermLength) {
+                continue;
+            }
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append('+').append(term);
+            if (last) {
+                query.append('*');
+            }
+        }
+        return query.isEmpty() ? null : query.toString();
+    }
+}
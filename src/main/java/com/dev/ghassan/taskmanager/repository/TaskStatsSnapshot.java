@@ -0,0 +1,21 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.Task;
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a task that feed its owner's statistics, plus the version, so writes
+ * that skip loading the task can report the version they produce.
+ */
+public record TaskStatsSnapshot(TaskStatus status, TaskPriority priority, LocalDateTime dueDate, Long version) {
+    public static TaskStatsSnapshot of(Task task) {
+        return new TaskStatsSnapshot(task.getStatus(), task.getPriority(), task.getDueDate(), task.getVersion());
+    }
+
+    public TaskStatsSnapshot withStatus(TaskStatus newStatus) {
+        return new TaskStatsSnapshot(newStatus, priority, dueDate, version);
+    }
+}
@@ -0,0 +1,44 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync position over the (changeSeq, id) ordering shared by tasks and tombstones.
+ * issuedAt is when the client last caught up; older than the tombstone retention means it may
+ * have missed compacted deletes and has to resync from scratch.
+ */
+public record TaskSyncCursor(long changeSeq, String id, Instant issuedAt) {
+    private static final String SEPARATOR = "|";
+
+    // Existing rows start at change sequence 0, so the initial position sits just before them
+    public static TaskSyncCursor start(Instant now) {
+        return new TaskSyncCursor(-1, "", now);
+    }
+
+    public boolean isStart() {
+        return changeSeq < 0;
+    }
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + id + SEPARATOR + issuedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new InvalidRequestException("Invalid sync cursor");
+            }
+            return new TaskSyncCursor(Long.parseLong(parts[0]), parts[1], Instant.ofEpochMilli(Long.parseLong(parts[2])));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidRequestException("Invalid sync cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    @Query("SELECT t FROM TaskTombstone t WHERE t.userId = :userId " +
+           "AND (t.changeSeq > :changeSeq OR (t.changeSeq = :changeSeq AND t.taskId > :taskId)) " +
+           "ORDER BY t.changeSeq, t.taskId")
+    List<TaskTombstone> findChangedSince(Long userId, long changeSeq, String taskId, Limit limit);
+}
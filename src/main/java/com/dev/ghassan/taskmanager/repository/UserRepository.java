@@ -1,9 +1,17 @@
 package com.dev.ghassan.taskmanager.repository;
 
 import com.dev.ghassan.taskmanager.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +21,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsernameOrEmail(String username, String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
+
+    // Takes the same row lock task writers take through incrementTaskRevision
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(String email, String password);
+
+    // Never shortens a lock another node already wrote
+    @Modifying
+    @Query("UPDATE User u SET u.lockedUntil = :until WHERE u.email = :email AND (u.lockedUntil IS NULL OR u.lockedUntil < :until)")
+    int lockUntil(String email, LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.lockedUntil = NULL WHERE u.id = :id")
+    int clearLockedUntil(Long id);
+
+    @Query("SELECT u.taskRevision FROM User u WHERE u.id = :id")
+    Optional<Long> findTaskRevisionById(Long id);
+
+    // Row lock held until commit, so concurrent writers for one user take revisions in commit order
+    @Modifying
+    @Query("UPDATE User u SET u.taskRevision = u.taskRevision + 1 WHERE u.id = :id")
+    int incrementTaskRevision(Long id);
 }
\ No newline at end of file
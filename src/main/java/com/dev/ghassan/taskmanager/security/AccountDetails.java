@@ -0,0 +1,60 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.model.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal produced by a password login. Carries everything the rest of the login
+ * needs (tokens and the response), so the user row is read exactly once. The hash is
+ * erased by the authentication manager once the password has been checked.
+ */
+@Getter
+public class AccountDetails implements UserDetails, CredentialsContainer {
+    private final Long id;
+    // The account's username; getUsername() returns the email, which is what logins use
+    private final String displayName;
+    private final String email;
+    private final boolean enabled;
+    private final boolean accountLocked;
+    // A lock from failed logins was recorded and should be cleared on success
+    private final boolean lockRecorded;
+    private String password;
+
+    public AccountDetails(User user) {
+        this.id = user.getId();
+        this.displayName = user.getUsername();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.enabled = user.getEnabled();
+        this.lockRecorded = user.getLockedUntil() != null;
+        this.accountLocked = user.getAccountLocked()
+                || (lockRecorded && user.getLockedUntil().isAfter(LocalDateTime.now()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !accountLocked;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt on a small dedicated pool, so password hashing can only ever use that many
+ * cores however many logins and registrations arrive at once. Work that waits in the
+ * queue longer than the timeout is dropped and its caller gets a 503, which keeps
+ * bursts from turning into slow responses everywhere else in the application.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final MeterRegistry meterRegistry;
+
+    // Raising it makes hashes stored at a lower cost be re-hashed on their next successful login
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int strength;
+
+    // 0 means half the available processors
+    @Value("${app.security.password.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password.queue-size:200}")
+    private int queueSize;
+
+    @Value("${app.security.password.queue-timeout:2s}")
+    private Duration queueTimeout;
+
+    private BCryptPasswordEncoder delegate;
+    private ThreadPoolExecutor executor;
+    private Timer encodeTime;
+    private Timer matchTime;
+    private Timer queueWait;
+    private Counter rejections;
+
+    @PostConstruct
+    void init() {
+        delegate = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("password-hash-"));
+
+        encodeTime = Timer.builder("auth.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        matchTime = Timer.builder("auth.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time password hashing work waited for a hashing thread")
+                .register(meterRegistry);
+        rejections = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests turned away because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTime, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchTime, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only reads the cost from the stored hash, so it runs on the caller
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Supplier<T> work) {
+        long enqueued = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueued;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                // The caller has been waiting too long already; don't spend a core on it
+                if (waited > queueTimeout.toNanos()) {
+                    throw new ServiceUnavailableException("Server is busy, please retry shortly");
+                }
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ServiceUnavailableException) {
+                throw busy();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy();
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        rejections.increment();
+        log.debug("Password hashing pool saturated, rejecting request");
+        return new ServiceUnavailableException("Server is busy, please retry shortly");
+    }
+}
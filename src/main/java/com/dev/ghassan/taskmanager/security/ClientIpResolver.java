@@ -0,0 +1,73 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Resolves the client address used to key rate limits and login protection. Forwarded
+ * headers are only believed when the request arrives from a configured trusted proxy;
+ * X-Forwarded-For is then read from the right, skipping trusted hops, since everything
+ * left of the first untrusted address was written by the client itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientIpResolver {
+    private final RateLimitProperties properties;
+
+    private List<IpAddressMatcher> trustedProxies;
+
+    @PostConstruct
+    void init() {
+        trustedProxies = properties.getTrustedProxies().stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!properties.isTrustForwardedHeaders() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            String[] hops = xForwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                    return hop;
+                }
+            }
+            return remoteAddr;
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp.trim();
+        }
+
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP literal; never resolved as a host name
+                return false;
+            }
+        }
+        return false;
+    }
+}
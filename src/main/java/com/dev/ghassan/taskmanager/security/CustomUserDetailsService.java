@@ -2,39 +2,57 @@ package com.dev.ghassan.taskmanager.security;
 
 import com.dev.ghassan.taskmanager.model.User;
 import com.dev.ghassan.taskmanager.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate primaryLookup;
+
+    @PostConstruct
+    void init() {
+        // Read-write so the lookup is served by the primary: logging in right after
+        // registering must not depend on replica lag
+        primaryLookup = new TransactionTemplate(transactionManager);
+    }
 
+    // Runs in its own short transaction, so no connection is held while the password is hashed
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Loading user by email: {}", email);
         
-        User user = userRepository.findByEmail(email.toLowerCase().trim())
-                .orElseThrow(() -> {
-                    log.warn("Authentication attempt with non-existent email: {}", email);
-                    return new UsernameNotFoundException("Invalid email or password");
-                });
+        User user = primaryLookup.execute(status -> userRepository.findByEmail(email.toLowerCase().trim()).orElse(null));
+        if (user == null) {
+            log.warn("Authentication attempt with non-existent email: {}", email);
+            throw new UsernameNotFoundException("Invalid email or password");
+        }
 
         log.debug("User found: {}, enabled: {}, locked: {}", user.getEmail(), user.getEnabled(), user.getAccountLocked());
+        return new AccountDetails(user);
+    }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .disabled(!user.getEnabled())
-                .accountLocked(user.getAccountLocked())
-                .authorities(new ArrayList<>()) // Add roles/authorities here if needed
-                .build();
+    // Called by the authentication provider after a successful login whose stored hash
+    // uses a lower BCrypt cost than the current one
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        log.debug("Upgraded password hash for user: {}", user.getUsername());
+        // The principal's hash is erased right after authentication, so it is returned as is
+        return user;
     }
-}
\ No newline at end of file
+}
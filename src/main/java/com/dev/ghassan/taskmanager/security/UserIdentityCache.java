@@ -0,0 +1,75 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdentityCache {
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.security.identity-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.identity-cache.ttl:60s}")
+    private Duration ttl;
+
+    private Cache<String, AuthenticatedUser> cache;
+    private TransactionTemplate primaryLookup;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        // Read-write so the lookup is served by the primary: a user who just registered
+        // or was locked must be seen immediately, even when reads go to a replica
+        primaryLookup = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<AuthenticatedUser> get(String email) {
+        String key = email.toLowerCase().trim();
+        // Missing users are not cached, so a later registration is picked up immediately
+        return Optional.ofNullable(cache.get(key, this::load));
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email.toLowerCase().trim());
+    }
+
+    // Defer eviction until the change is visible, otherwise a concurrent request could re-cache stale state
+    public void invalidateAfterCommit(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(email);
+                }
+            });
+        }
+        invalidate(email);
+    }
+
+    private AuthenticatedUser load(String email) {
+        log.debug("Loading user identity for email: {}", email);
+        return primaryLookup.execute(status -> userRepository.findByEmail(email)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getEnabled(), user.getAccountLocked()))
+                .orElse(null));
+    }
+}
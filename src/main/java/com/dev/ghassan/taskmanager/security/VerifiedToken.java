@@ -0,0 +1,6 @@
+package com.dev.ghassan.taskmanager.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(String subject, Instant expiresAt) {
+}
@@ -0,0 +1,67 @@
+package com.dev.ghassan.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * The loop shared by the purge jobs. A run first takes the job lease, so one instance
+ * purges at a time, then deletes chunk after chunk until one comes back short or the
+ * run time is used up; remaining rows wait for the next run. After each full chunk it
+ * pauses for at least as long as the chunk took, leaving the primary and its replicas
+ * time to catch up.
+ */
+final class ChunkedPurge {
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration maxRunTime;
+    private long deadline;
+
+    ChunkedPurge(int batchSize, Duration pause, Duration maxRunTime) {
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxRunTime = maxRunTime;
+    }
+
+    /** Takes the lease and starts the run time; false when another instance holds the lease. */
+    boolean tryStart(JdbcLeaseLock leaseLock, String leaseName, Duration lease) {
+        if (!leaseLock.tryAcquire(leaseName, lease)) {
+            return false;
+        }
+        deadline = System.nanoTime() + maxRunTime.toNanos();
+        return true;
+    }
+
+    /**
+     * Runs deleteChunk, which removes at most batchSize rows and returns how many it
+     * removed, until a chunk is short or the deadline passes.
+     *
+     * @return the rows deleted
+     */
+    long run(IntSupplier deleteChunk, Counter rows) {
+        long purged = 0;
+        int deleted;
+        do {
+            long chunkStarted = System.nanoTime();
+            deleted = deleteChunk.getAsInt();
+            purged += deleted;
+            rows.increment(deleted);
+            if (deleted == batchSize && !throttle(System.nanoTime() - chunkStarted)) {
+                break;
+            }
+        } while (deleted == batchSize && System.nanoTime() < deadline);
+        return purged;
+    }
+
+    private boolean throttle(long chunkNanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.max(pause.toNanos(), chunkNanos));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.model.EmailOutbox;
+import com.dev.ghassan.taskmanager.model.EmailStatus;
+import com.dev.ghassan.taskmanager.repository.EmailOutboxRepository;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers queued emails from the email_outbox table. Callers persist a message in
+ * their own transaction and return; workers pick it up after commit through a
+ * bounded in-memory queue, and a poller covers retries, overflow and restarts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDispatcher {
+    private final EmailOutboxRepository outboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final SimpleAsyncTaskExecutorBuilder taskExecutorBuilder;
+
+    @Value("${sendgrid.api.key}")
+    private String sendGridApiKey;
+
+    @Value("${sendgrid.host:api.sendgrid.com}")
+    private String sendGridHost;
+
+    // Plain HTTP, for pointing the dispatcher at a local stub mail endpoint
+    @Value("${sendgrid.test-mode:false}")
+    private boolean sendGridTestMode;
+
+    @Value("${app.email.from-address:noreply@ghassanabukhaled.com}")
+    private String fromAddress;
+
+    @Value("${app.email.from-name:TaskFlow}")
+    private String fromName;
+
+    @Value("${app.email.dispatcher.threads:2}")
+    private int workerThreads;
+
+    @Value("${app.email.dispatcher.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.email.dispatcher.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.email.dispatcher.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.email.dispatcher.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.email.dispatcher.claim-timeout:5m}")
+    private Duration claimTimeout;
+
+    private BlockingQueue<Long> queue;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private SimpleAsyncTaskExecutor workers;
+    private SendGrid sendGrid;
+    private Timer sendSuccessTimer;
+    private Timer sendFailureTimer;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        // One client for the lifetime of the app so HTTP connections are pooled and reused
+        sendGrid = new SendGrid(sendGridApiKey, sendGridTestMode);
+        sendGrid.setHost(sendGridHost);
+
+        Gauge.builder("email.outbox.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting in the in-memory dispatch queue")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", outboxRepository, repository -> repository.countByStatus(EmailStatus.PENDING))
+                .description("Emails pending delivery in the outbox table")
+                .register(meterRegistry);
+        sendSuccessTimer = Timer.builder("email.send.latency").tag("result", "success").register(meterRegistry);
+        sendFailureTimer = Timer.builder("email.send.latency").tag("result", "failure").register(meterRegistry);
+
+        // Boot's builder hands out virtual threads when spring.threads.virtual.enabled is set
+        workers = taskExecutorBuilder
+                .threadNamePrefix("email-dispatch-")
+                .concurrencyLimit(workerThreads)
+                .taskTerminationTimeout(Duration.ofSeconds(10))
+                .build();
+        for (int i = 0; i < workerThreads; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        // Waits for workers to finish their current send; idle ones exit on their next poll
+        workers.close();
+    }
+
+    /**
+     * Persists an email in the caller's transaction. Delivery starts only once that
+     * transaction commits, so rolled back work never sends mail.
+     */
+    public void enqueue(String recipient, String subject, String htmlBody) {
+        EmailOutbox email = outboxRepository.save(new EmailOutbox(recipient, subject, htmlBody));
+        Long id = email.getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(id);
+                }
+            });
+        } else {
+            offer(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.dispatcher.poll-interval:10000}")
+    public void pollOutbox() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxRepository.releaseStaleClaims(EmailStatus.PENDING, EmailStatus.SENDING, now.minus(claimTimeout));
+        if (released > 0) {
+            log.warn("Released {} stale email claims", released);
+        }
+
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> due = outboxRepository.findDueIds(EmailStatus.PENDING, now, PageRequest.of(0, capacity));
+        due.forEach(this::offer);
+    }
+
+    // A full queue is not an error: the row stays PENDING and the poller retries it
+    private void offer(Long id) {
+        if (queued.add(id) && !queue.offer(id)) {
+            queued.remove(id);
+            log.debug("Email dispatch queue full, deferring email {} to poller", id);
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            Long id;
+            try {
+                id = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (id == null) {
+                continue;
+            }
+            try {
+                dispatch(id);
+            } catch (Exception e) {
+                log.error("Unexpected error dispatching email {}", id, e);
+            } finally {
+                queued.remove(id);
+            }
+        }
+    }
+
+    private void dispatch(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(id, EmailStatus.PENDING, EmailStatus.SENDING, now) == 0) {
+            return; // Already handled elsewhere or not yet due
+        }
+        EmailOutbox email = outboxRepository.findById(id).orElse(null);
+        if (email == null) {
+            return;
+        }
+
+        email.setAttempts(email.getAttempts() + 1);
+        long start = System.nanoTime();
+        try {
+            deliver(email);
+            sendSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            email.setStatus(EmailStatus.SENT);
+            email.setSentAt(LocalDateTime.now());
+            email.setLastError(null);
+            email.setHtmlBody(null);
+            log.info("Email {} sent successfully to: {}", id, email.getRecipient());
+        } catch (Exception e) {
+            sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            email.setLastError(truncate(e.getMessage()));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailStatus.FAILED);
+                email.setHtmlBody(null);
+                log.error("Email {} to {} failed permanently after {} attempts", id, email.getRecipient(), email.getAttempts(), e);
+            } else {
+                email.setStatus(EmailStatus.PENDING);
+                email.setNextAttemptAt(LocalDateTime.now().plus(backoff(email.getAttempts())));
+                log.warn("Email {} to {} failed (attempt {}), retrying at {}", id, email.getRecipient(), email.getAttempts(), email.getNextAttemptAt());
+            }
+        }
+        outboxRepository.save(email);
+    }
+
+    private void deliver(EmailOutbox email) throws IOException {
+        Mail mail = new Mail(
+                new Email(fromAddress, fromName),
+                email.getSubject(),
+                new Email(email.getRecipient()),
+                new Content("text/html", email.getHtmlBody())
+        );
+
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        request.setBody(mail.build());
+
+        Response response = sendGrid.api(request);
+        if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+            throw new IOException("SendGrid returned status " + response.getStatusCode() + ": " + response.getBody());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.ghassan.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes delivered and permanently failed outbox rows once they are past the
+ * retention period, in throttled chunks under a job lease ({@link ChunkedPurge}).
+ * Rows still pending or being sent are never touched.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxPurger {
+    static final String LEASE_NAME = "email-outbox-purge";
+
+    // Terminal rows are never rescheduled, so next_attempt_at is their last attempt and the due index covers the scan
+    private static final String DELETE = "DELETE FROM email_outbox WHERE status IN ('SENT', 'FAILED') AND next_attempt_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcLeaseLock leaseLock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.email.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${app.email.outbox.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.purge.pause:100ms}")
+    private Duration pause;
+
+    @Value("${app.email.outbox.purge.max-run-time:10m}")
+    private Duration maxRunTime;
+
+    @Value("${app.email.outbox.purge.lease:50m}")
+    private Duration lease;
+
+    public void purgeFinishedEmails() {
+        ChunkedPurge purge = new ChunkedPurge(batchSize, pause, maxRunTime);
+        if (!purge.tryStart(leaseLock, LEASE_NAME, lease)) {
+            log.debug("Email outbox purge is running on another instance");
+            return;
+        }
+        Counter rows = Counter.builder("email.outbox.purge.rows")
+                .description("Sent and failed outbox rows deleted by the purge job")
+                .register(meterRegistry);
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        long purged = purge.run(() -> jdbcTemplate.update(DELETE, cutoff, batchSize), rows);
+
+        if (purged > 0) {
+            log.info("Purged {} finished emails from the outbox", purged);
+        }
+    }
+}
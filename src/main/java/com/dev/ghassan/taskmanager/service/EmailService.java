@@ -1,62 +1,22 @@
 package com.dev.ghassan.taskmanager.service;
 
-import com.sendgrid.Method;
-import com.sendgrid.Request;
-import com.sendgrid.Response;
-import com.sendgrid.SendGrid;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
-    
-    @Value("${TASKFLOW_SENDGRID_API_KEY}")
-    private String sendGridApiKey;
-    
-    private static final String FROM_EMAIL = "noreply@ghassanabukhaled.com";
-    private static final String FROM_NAME = "TaskFlow";
+    private final EmailDispatcher emailDispatcher;
     
     public void sendPasswordResetEmail(String toEmail, String resetToken) {
-        try {
-            Email from = new Email(FROM_EMAIL, FROM_NAME);
-            Email to = new Email(toEmail);
-            String subject = "Reset Your TaskFlow Password";
-            
-            String resetUrl = "https://taskflow.ghassanabukhaled.com/reset-password?token=" + resetToken;
-            
-            String htmlContent = buildPasswordResetEmailContent(resetUrl);
-            Content content = new Content("text/html", htmlContent);
-            
-            Mail mail = new Mail(from, subject, to, content);
-            
-            SendGrid sg = new SendGrid(sendGridApiKey);
-            Request request = new Request();
-            
-            request.setMethod(Method.POST);
-            request.setEndpoint("mail/send");
-            request.setBody(mail.build());
-            
-            Response response = sg.api(request);
-            
-            if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-                log.info("Password reset email sent successfully to: {}", toEmail);
-            } else {
-                log.error("Failed to send password reset email. Status: {}, Body: {}", 
-                         response.getStatusCode(), response.getBody());
-                throw new RuntimeException("Failed to send password reset email");
-            }
-            
-        } catch (IOException e) {
-            log.error("Error sending password reset email to: {}", toEmail, e);
-            throw new RuntimeException("Failed to send password reset email", e);
-        }
+        String subject = "Reset Your TaskFlow Password";
+        String resetUrl = "https://taskflow.ghassanabukhaled.com/reset-password?token=" + resetToken;
+        
+        // Queued in the caller's transaction; delivered asynchronously by EmailDispatcher
+        emailDispatcher.enqueue(toEmail, subject, buildPasswordResetEmailContent(resetUrl));
+        log.info("Password reset email queued for: {}", toEmail);
     }
     
     private String buildPasswordResetEmailContent(String resetUrl) {
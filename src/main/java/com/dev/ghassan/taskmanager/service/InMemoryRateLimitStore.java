@@ -0,0 +1,50 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        Duration idleTimeout = properties.getIdleTimeout();
+        Duration longestPeriod = properties.longestPeriod();
+        // Evicting a bucket before it has fully refilled would hand the client a fresh allowance
+        if (idleTimeout.compareTo(longestPeriod) < 0) {
+            idleTimeout = longestPeriod;
+        }
+
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public boolean tryConsume(String key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> createBucket(limit)).tryConsume(1);
+    }
+
+    @Override
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Bucket createBucket(RateLimitProperties.Limit limit) {
+        Bandwidth bandwidth = Bandwidth.classic(limit.getCapacity(), Refill.intervally(limit.getCapacity(), limit.getPeriod()));
+        return Bucket.builder()
+                .addLimit(bandwidth)
+                .build();
+    }
+}
@@ -3,44 +3,250 @@ package com.dev.ghassan.taskmanager.service;
 import org.owasp.encoder.Encode;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Strips script blocks and HTML tags, HTML-encodes the remainder and drops
+ * SQL meta characters (' -- ; | * %). This is a hand-written scanner equivalent to
+ * running the regex replacements, Encode.forHtml and the character filter in
+ * sequence, without allocating an intermediate String per step. Inputs without
+ * '<' (nearly all task fields) are handled in a single pass.
+ */
 @Service
 public class InputSanitizationService {
-    private static final Pattern SCRIPT_PATTERN = Pattern.compile("<script[^>]*>.*?</script>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-    private static final Pattern HTML_PATTERN = Pattern.compile("<[^>]+>");
-    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile("('|(\\-\\-)|(;)|(\\|)|(\\*)|(%))", Pattern.CASE_INSENSITIVE);
+    private static final String SCRIPT_OPEN = "<script";
+    private static final String SCRIPT_CLOSE = "</script>";
+    private static final String[] ENTITY_NAMES = {"amp", "lt", "gt", "#34", "#39"};
+    private static final String ENTITY_CHARS = "&<>\"'";
 
     public String sanitizeString(String input) {
-        if (input == null || input.trim().isEmpty()) {
+        if (input == null || isBlank(input)) {
             return input;
         }
 
-        // Remove script tags
-        String sanitized = SCRIPT_PATTERN.matcher(input).replaceAll("");
-        
-        // Remove HTML tags
-        sanitized = HTML_PATTERN.matcher(sanitized).replaceAll("");
-        
-        // HTML encode to prevent XSS
-        sanitized = Encode.forHtml(sanitized);
-        
-        // Remove potential SQL injection characters
-        sanitized = SQL_INJECTION_PATTERN.matcher(sanitized).replaceAll("");
-        
-        return sanitized.trim();
+        CharSequence text = input.indexOf('<') < 0 ? input : removeHtmlTags(removeScriptBlocks(input));
+        return encodeAndFilter(text);
     }
 
     public List<String> sanitizeStringList(List<String> inputs) {
         if (inputs == null) {
             return null;
         }
-        
-        return inputs.stream()
-                .map(this::sanitizeString)
-                .filter(s -> s != null && !s.isEmpty())
-                .collect(Collectors.toList());
+
+        List<String> sanitized = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            String value = sanitizeString(input);
+            if (value != null && !value.isEmpty()) {
+                sanitized.add(value);
+            }
+        }
+        return sanitized;
+    }
+
+    /**
+     * Turns the entities sanitizeString writes back into the characters they stand for.
+     * The SQL filter drops their ';', so every '&' in sanitized text starts one of them,
+     * and sanitizeString(unescape(s)) gives back s for any sanitized s.
+     */
+    public String unescape(String sanitized) {
+        if (sanitized == null || sanitized.indexOf('&') < 0) {
+            return sanitized;
+        }
+
+        StringBuilder out = new StringBuilder(sanitized.length());
+        int i = 0;
+        while (i < sanitized.length()) {
+            char c = sanitized.charAt(i);
+            int entity = c == '&' ? entityIndex(sanitized, i + 1) : -1;
+            if (entity < 0) {
+                out.append(c);
+                i++;
+            } else {
+                out.append(ENTITY_CHARS.charAt(entity));
+                i += 1 + ENTITY_NAMES[entity].length();
+            }
+        }
+        return out.toString();
+    }
+
+    private static int entityIndex(String text, int from) {
+        for (int i = 0; i < ENTITY_NAMES.length; i++) {
+            if (text.startsWith(ENTITY_NAMES[i], from)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Same semantics as input.trim().isEmpty()
+    private static boolean isBlank(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Equivalent to replacing <script[^>]*>.*?</script> (ASCII case-insensitive, DOTALL)
+    private static CharSequence removeScriptBlocks(String input) {
+        int start = indexOfIgnoreCase(input, SCRIPT_OPEN, 0);
+        if (start < 0) {
+            return input;
+        }
+
+        StringBuilder out = new StringBuilder(input.length());
+        int copied = 0;
+        while (start >= 0) {
+            int openEnd = input.indexOf('>', start + SCRIPT_OPEN.length());
+            if (openEnd < 0) {
+                break;
+            }
+            int close = indexOfIgnoreCase(input, SCRIPT_CLOSE, openEnd + 1);
+            if (close < 0) {
+                // No later opening tag can find a closing tag either
+                break;
+            }
+            out.append(input, copied, start);
+            copied = close + SCRIPT_CLOSE.length();
+            start = indexOfIgnoreCase(input, SCRIPT_OPEN, copied);
+        }
+        out.append(input, copied, input.length());
+        return out;
+    }
+
+    // Equivalent to replacing <[^>]+>
+    private static CharSequence removeHtmlTags(CharSequence text) {
+        int length = text.length();
+        StringBuilder out = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                int close = indexOf(text, '>', i + 1);
+                if (close < 0) {
+                    out.append(text, i, length);
+                    break;
+                }
+                if (close > i + 1) {
+                    i = close + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out;
+    }
+
+    private static String encodeAndFilter(CharSequence text) {
+        int length = text.length();
+        FilteringBuilder out = new FilteringBuilder(length + 16);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&#34;");
+                case '\'' -> out.append("&#39;");
+                default -> {
+                    if (isPlain(c)) {
+                        out.append(c);
+                    } else {
+                        // Rare characters (controls, surrogates, specials) go through the encoder itself
+                        int end = Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))
+                                ? i + 2
+                                : i + 1;
+                        out.append(Encode.forHtml(text.subSequence(i, end).toString()));
+                        i = end - 1;
+                    }
+                }
+            }
+        }
+        return out.toTrimmedString();
+    }
+
+    // Characters Encode.forHtml passes through unchanged
+    private static boolean isPlain(char c) {
+        return (c >= ' ' && c < 0x7F) || c == '\t' || c == '\n' || c == '\r' || (c >= 0xA0 && c < Character.MIN_SURROGATE);
+    }
+
+    private static int indexOf(CharSequence text, char target, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ASCII-only case folding, matching Pattern.CASE_INSENSITIVE without UNICODE_CASE
+    private static int indexOfIgnoreCase(String text, String lowerCaseTarget, int from) {
+        int last = text.length() - lowerCaseTarget.length();
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < lowerCaseTarget.length(); j++) {
+                char c = text.charAt(i + j);
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                }
+                if (c != lowerCaseTarget.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Drops ' ; | * % and non-overlapping "--" pairs from the encoded stream, with
+     * the same left-to-right semantics as a regex replaceAll over the encoded text.
+     */
+    private static final class FilteringBuilder {
+        private final StringBuilder out;
+        private boolean pendingDash;
+
+        FilteringBuilder(int capacity) {
+            out = new StringBuilder(capacity);
+        }
+
+        void append(String encoded) {
+            for (int i = 0; i < encoded.length(); i++) {
+                append(encoded.charAt(i));
+            }
+        }
+
+        void append(char c) {
+            if (c == '-') {
+                pendingDash = !pendingDash;
+                return;
+            }
+            if (pendingDash) {
+                out.append('-');
+                pendingDash = false;
+            }
+            if (c != '\'' && c != ';' && c != '|' && c != '*' && c != '%') {
+                out.append(c);
+            }
+        }
+
+        String toTrimmedString() {
+            if (pendingDash) {
+                out.append('-');
+                pendingDash = false;
+            }
+            int start = 0;
+            int end = out.length();
+            while (start < end && out.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && out.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return out.substring(start, end);
+        }
     }
-}
\ No newline at end of file
+}
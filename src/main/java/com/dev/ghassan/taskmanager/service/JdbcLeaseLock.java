@@ -0,0 +1,56 @@
+package com.dev.ghassan.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Time-bounded leases in the job_leases table. Taking a lease is a single conditional
+ * UPDATE (or the INSERT that creates the row), so it needs no open transaction and a
+ * node that dies simply lets its lease run out. Leases are compared against each
+ * node's clock; they are meant to last minutes, far longer than any expected skew.
+ */
+@Component
+@Slf4j
+public class JdbcLeaseLock {
+    private static final String TAKE_LEASE =
+            "UPDATE job_leases SET owner = ?, locked_until = ? WHERE lease_name = ? AND (locked_until < ? OR owner = ?)";
+    private static final String INSERT_LEASE =
+            "INSERT INTO job_leases (lease_name, owner, locked_until) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public JdbcLeaseLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /** Takes the lease if it is free or expired, or extends it if this instance already holds it. */
+    public boolean tryAcquire(String name, Duration duration) {
+        long now = System.currentTimeMillis();
+        long until = now + duration.toMillis();
+        if (jdbcTemplate.update(TAKE_LEASE, owner, until, name, now, owner) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_LEASE, name, owner, until) == 1;
+        } catch (DuplicateKeyException e) {
+            return false; // Held by another instance
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide buckets in the rate_limit_buckets table. Tokens are taken with an
+ * optimistic compare-and-set on a version column, and each node reserves a share of
+ * the capacity (app.rate-limit.prefetch-fraction) per round trip so most checks stay local.
+ * If the database is unavailable the node falls back to its own in-memory limits.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
+    private static final String SELECT_BUCKET =
+            "SELECT tokens, window_start, version FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String INSERT_BUCKET =
+            "INSERT INTO rate_limit_buckets (bucket_key, tokens, window_start, version) VALUES (?, ?, ?, 0)";
+    private static final String UPDATE_BUCKET =
+            "UPDATE rate_limit_buckets SET tokens = ?, window_start = ?, version = version + 1 " +
+            "WHERE bucket_key = ? AND version = ?";
+    private static final String DELETE_IDLE_BUCKETS =
+            "DELETE FROM rate_limit_buckets WHERE window_start < ?";
+
+    private static final RowMapper<BucketState> BUCKET_MAPPER = (rs, rowNum) ->
+            new BucketState(rs.getLong("tokens"), rs.getLong("window_start"), rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateLimitProperties properties;
+    private final Cache<String, AtomicLong> reservedTokens;
+    private final RateLimitStore fallback;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.reservedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getPrefetchLease())
+                .build();
+        this.fallback = new InMemoryRateLimitStore(properties);
+    }
+
+    @Override
+    public boolean tryConsume(String key, RateLimitProperties.Limit limit) {
+        AtomicLong reserved = reservedTokens.getIfPresent(key);
+        if (reserved != null && reserved.getAndUpdate(tokens -> tokens > 0 ? tokens - 1 : 0) > 0) {
+            return true;
+        }
+
+        try {
+            long granted = reserve(key, limit);
+            if (granted == 0) {
+                return false;
+            }
+            if (granted > 1) {
+                // Concurrent misses on one key each reserve a batch; add to what is left instead of replacing it
+                long extra = granted - 1;
+                reservedTokens.asMap().merge(key, new AtomicLong(extra), (current, added) -> {
+                    current.addAndGet(extra);
+                    return current;
+                });
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Shared rate limit store unavailable, using local limits: {}", e.getMessage());
+            return fallback.tryConsume(key, limit);
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval:600000}")
+    public void deleteIdleBuckets() {
+        long idleMillis = Math.max(properties.getIdleTimeout().toMillis(), properties.longestPeriod().toMillis());
+        int deleted = jdbcTemplate.update(DELETE_IDLE_BUCKETS, System.currentTimeMillis() - idleMillis);
+        log.debug("Deleted {} idle rate limit buckets", deleted);
+    }
+
+    private long reserve(String key, RateLimitProperties.Limit limit) {
+        long capacity = limit.getCapacity();
+        long periodMillis = limit.getPeriod().toMillis();
+        long wanted = properties.prefetchFor(limit);
+
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            long now = System.currentTimeMillis();
+            List<BucketState> rows = jdbcTemplate.query(SELECT_BUCKET, BUCKET_MAPPER, key);
+
+            if (rows.isEmpty()) {
+                try {
+                    jdbcTemplate.update(INSERT_BUCKET, key, capacity - wanted, now);
+                    return wanted;
+                } catch (DuplicateKeyException e) {
+                    continue; // Another node created it first
+                }
+            }
+
+            BucketState state = rows.get(0);
+            long tokens = state.tokens();
+            long windowStart = state.windowStart();
+            if (now - windowStart >= periodMillis) {
+                windowStart = now - ((now - windowStart) % periodMillis);
+                tokens = capacity;
+            }
+            if (tokens <= 0) {
+                return 0;
+            }
+
+            long granted = Math.min(wanted, tokens);
+            if (jdbcTemplate.update(UPDATE_BUCKET, tokens - granted, windowStart, key, state.version()) == 1) {
+                return granted;
+            }
+        }
+
+        log.debug("Rate limit bucket {} too contended, rejecting", key);
+        return 0;
+    }
+
+    private record BucketState(long tokens, long windowStart, long version) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.LoginProtectionProperties;
+import com.dev.ghassan.taskmanager.exception.AccountLockedException;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns away login attempts that follow too many recent failures, before any password
+ * is hashed. Failures are counted per account, which catches attacks spread over many
+ * IPs, and per client IP, which catches one client trying many accounts. An account
+ * that keeps failing is locked for progressively longer; locks are written to the
+ * database in the background so other nodes enforce them at user lookup time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptService {
+    private final LoginProtectionProperties properties;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, AccountState> accounts;
+    private Cache<String, SlidingWindowCounter> clients;
+    private ThreadPoolExecutor lockWriter;
+    private TransactionTemplate lockTransaction;
+    private Counter accountRejections;
+    private Counter clientRejections;
+    private Counter lockouts;
+
+    @PostConstruct
+    void init() {
+        accounts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getHistoryRetention().compareTo(properties.getMaxLockDuration()) < 0
+                        ? properties.getMaxLockDuration()
+                        : properties.getHistoryRetention())
+                .build();
+        clients = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getWindow())
+                .build();
+        lockWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getPersistQueueSize()), new CustomizableThreadFactory("login-lock-"));
+        lockTransaction = new TransactionTemplate(transactionManager);
+        accountRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected before password verification")
+                .tag("reason", "account-locked")
+                .register(meterRegistry);
+        clientRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected before password verification")
+                .tag("reason", "client-failures")
+                .register(meterRegistry);
+        lockouts = Counter.builder("auth.login.lockouts")
+                .description("Accounts locked after repeated failed logins")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lockWriter.shutdown();
+        lockWriter.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** Throws when the client or the account has failed too often recently. Costs no I/O. */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter client = clients.getIfPresent(clientIp);
+        if (client != null && client.sum(now) >= properties.getMaxClientFailures()) {
+            clientRejections.increment();
+            throw new RateLimitExceededException("Too many failed login attempts. Please try again later.");
+        }
+        AccountState account = accounts.getIfPresent(email);
+        if (account != null && account.lockedUntil.get() > now) {
+            accountRejections.increment();
+            throw new AccountLockedException("Account is temporarily locked after repeated failed logins");
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        clients.get(clientIp, ip -> newCounter()).increment(now);
+
+        AccountState account = accounts.get(email, key -> new AccountState(newCounter()));
+        if (account.failures.increment(now) < properties.getMaxAccountFailures()) {
+            return;
+        }
+        long lockedUntil = account.lockedUntil.get();
+        long until = now + lockDuration(account.locks.get() + 1).toMillis();
+        // Only the attempt that wins the swap counts the lock, even when several fail at once
+        if (lockedUntil > now || !account.lockedUntil.compareAndSet(lockedUntil, until)) {
+            return;
+        }
+        account.locks.incrementAndGet();
+        account.failures.reset();
+        lockouts.increment();
+        log.warn("Locking account {} until {} after repeated failed logins", email, Instant.ofEpochMilli(until));
+        persistLock(email, until);
+    }
+
+    /** Forgets an account's failures and locks, after a successful login or a password reset. */
+    public void reset(String email) {
+        accounts.invalidate(email);
+    }
+
+    Duration lockDuration(int lockNumber) {
+        Duration duration = properties.getLockDuration().multipliedBy(1L << Math.min(lockNumber - 1, 20));
+        return duration.compareTo(properties.getMaxLockDuration()) > 0 ? properties.getMaxLockDuration() : duration;
+    }
+
+    private void persistLock(String email, long until) {
+        LocalDateTime lockedUntil = LocalDateTime.ofInstant(Instant.ofEpochMilli(until), ZoneId.systemDefault());
+        try {
+            lockWriter.execute(() -> {
+                try {
+                    lockTransaction.executeWithoutResult(status -> userRepository.lockUntil(email, lockedUntil));
+                } catch (DataAccessException e) {
+                    log.warn("Failed to persist login lock for {}: {}", email, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The lock still holds on this node; other nodes fall back to their own counters
+            log.warn("Login lock queue is full, not persisting lock for {}", email);
+        }
+    }
+
+    private SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(properties.getWindow().toMillis(), properties.getWindowSlots());
+    }
+
+    private static final class AccountState {
+        private final SlidingWindowCounter failures;
+        private final AtomicLong lockedUntil = new AtomicLong();
+        private final AtomicInteger locks = new AtomicInteger();
+
+        private AccountState(SlidingWindowCounter failures) {
+            this.failures = failures;
+        }
+    }
+}
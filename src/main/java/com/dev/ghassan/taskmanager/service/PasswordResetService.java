@@ -5,9 +5,9 @@ import com.dev.ghassan.taskmanager.model.PasswordResetToken;
 import com.dev.ghassan.taskmanager.model.User;
 import com.dev.ghassan.taskmanager.repository.PasswordResetTokenRepository;
 import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.dev.ghassan.taskmanager.security.UserIdentityCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +25,8 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityCache userIdentityCache;
+    private final LoginAttemptService loginAttemptService;
     private final SecureRandom secureRandom = new SecureRandom();
     
     private static final int TOKEN_EXPIRY_HOURS = 1;
@@ -73,7 +75,11 @@ public class PasswordResetService {
         // Update user password
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
+        // Proving control of the email ends any lock from failed logins
+        user.setLockedUntil(null);
         userRepository.save(user);
+        loginAttemptService.reset(user.getEmail());
+        userIdentityCache.invalidateAfterCommit(user.getEmail());
         
         // Mark token as used
         resetToken.setUsed(true);
@@ -87,11 +93,4 @@ public class PasswordResetService {
         secureRandom.nextBytes(tokenBytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
     }
-    
-    @Scheduled(fixedRate = 3600000) // Run every hour
-    @Transactional
-    public void cleanupExpiredTokens() {
-        tokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.debug("Cleaned up expired password reset tokens");
-    }
 }
\ No newline at end of file
@@ -1,29 +1,162 @@
 package com.dev.ghassan.taskmanager.service;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class RateLimitService {
-    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final String OVERFLOW_CLIENT = "overflow:";
+    private static final String UNKNOWN_NETWORK = "other";
 
-    public boolean tryConsume(String key) {
-        return getBucket(key).tryConsume(1);
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+
+    // Keys admitted recently, independent of the backend so admission never costs a round trip
+    private Cache<String, Boolean> knownKeys;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger newKeysInWindow = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        knownKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
     }
 
-    private Bucket getBucket(String key) {
-        return buckets.computeIfAbsent(key, this::createBucket);
+    public boolean tryConsume(String endpoint, String clientKey) {
+        RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+        String key = endpoint + ":" + clientKey;
+        if (knownKeys.getIfPresent(key) == null) {
+            if (!admitNewKey()) {
+                // Shared per /24 or /64, so a spray from one network does not lock out everyone else
+                return store.tryConsume(endpoint + ":" + OVERFLOW_CLIENT + networkPrefix(clientKey), limit);
+            }
+            knownKeys.put(key, Boolean.TRUE);
+        }
+        return store.tryConsume(key, limit);
     }
 
-    private Bucket createBucket(String key) {
-        Bandwidth limit = Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    // Caps distinct keys per window so spoofed client identifiers cannot churn the store
+    private boolean admitNewKey() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start > properties.getNewKeyWindow().toNanos() && windowStart.compareAndSet(start, now)) {
+            newKeysInWindow.set(0);
+        }
+        if (newKeysInWindow.incrementAndGet() > properties.getMaxNewKeysPerWindow()) {
+            log.debug("New rate limit key budget exhausted for current window");
+            return false;
+        }
+        return true;
+    }
+
+    // The client's IPv4 /24 or IPv6 /64, or one shared name for anything that is not an IP literal
+    static String networkPrefix(String clientKey) {
+        String address = clientKey.trim().toLowerCase();
+        int zone = address.indexOf('%');
+        if (zone >= 0) {
+            address = address.substring(0, zone);
+        }
+        if (address.startsWith("::ffff:") && address.indexOf('.') > 0) {
+            address = address.substring("::ffff:".length());
+        }
+        String prefix = address.indexOf(':') >= 0 ? ipv6Prefix(address) : ipv4Prefix(address);
+        return prefix != null ? prefix : UNKNOWN_NETWORK;
+    }
+
+    private static String ipv4Prefix(String address) {
+        String[] octets = address.split("\\.", -1);
+        if (octets.length != 4) {
+            return null;
+        }
+        for (String octet : octets) {
+            if (!isNumber(octet, 3) || Integer.parseInt(octet) > 255) {
+                return null;
+            }
+        }
+        return Integer.parseInt(octets[0]) + "." + Integer.parseInt(octets[1]) + "." + Integer.parseInt(octets[2]) + ".0/24";
+    }
+
+    private static String ipv6Prefix(String address) {
+        int gap = address.indexOf("::");
+        if (gap != address.lastIndexOf("::")) {
+            return null;
+        }
+        String[] head = groups(gap >= 0 ? address.substring(0, gap) : address);
+        String[] tail = gap >= 0 ? groups(address.substring(gap + 2)) : new String[0];
+        if (head == null || tail == null) {
+            return null;
+        }
+        // An embedded IPv4 tail stands for the last two groups and never reaches the /64
+        String[] last = tail.length > 0 ? tail : head;
+        int total = head.length + tail.length;
+        if (last.length > 0 && last[last.length - 1].indexOf('.') >= 0) {
+            total++;
+        }
+        if (gap >= 0 ? total > 7 : total != 8) {
+            return null;
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            String group = i < head.length ? head[i] : "0";
+            if (!isHex(group)) {
+                return null;
+            }
+            prefix.append(Integer.toHexString(Integer.parseInt(group, 16))).append(':');
+        }
+        return prefix.append(":/64").toString();
+    }
+
+    private static String[] groups(String part) {
+        if (part.isEmpty()) {
+            return new String[0];
+        }
+        String[] groups = part.split(":", -1);
+        for (String group : groups) {
+            if (group.isEmpty()) {
+                return null;
+            }
+        }
+        return groups;
+    }
+
+    private static boolean isHex(String group) {
+        if (group.isEmpty() || group.length() > 4) {
+            return false;
+        }
+        for (int i = 0; i < group.length(); i++) {
+            if (Character.digit(group.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumber(String value, int maxDigits) {
+        if (value.isEmpty() || value.length() > maxDigits) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long trackedKeys() {
+        return store.trackedKeys();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+
+/**
+ * Storage backend for rate-limit buckets, selected with app.rate-limit.backend.
+ */
+public interface RateLimitStore {
+
+    boolean tryConsume(String key, RateLimitProperties.Limit limit);
+
+    long trackedKeys();
+}
@@ -3,65 +3,62 @@ package com.dev.ghassan.taskmanager.service;
 import com.dev.ghassan.taskmanager.exception.TokenRefreshException;
 import com.dev.ghassan.taskmanager.model.RefreshToken;
 import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.repository.RefreshTokenOwner;
 import com.dev.ghassan.taskmanager.repository.RefreshTokenRepository;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
 
     @Value("${jwt.refresh.expiration:604800000}")
     private Long refreshTokenDurationMs; // 7 days
 
+    @Value("${jwt.refresh.max-per-user:10}")
+    private int maxTokensPerUser;
+
+    // Every login gets its own token, and the owner is referenced without being loaded. Logins beyond
+    // the per-user cap revoke that user's oldest tokens; expired tokens are removed by ExpiredTokenPurger
     @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        // Check if user already has a valid refresh token
-        Optional<RefreshToken> existingToken = refreshTokenRepository.findByUser(user);
-        if (existingToken.isPresent()) {
-            RefreshToken token = existingToken.get();
-            if (token.getExpiryDate().isAfter(LocalDateTime.now())) {
-                // Return existing valid token
-                return token;
-            }
-            // Delete expired token
-            refreshTokenRepository.delete(token);
-        }
-        
+    public RefreshToken createRefreshToken(Long userId) {
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
+        refreshToken.setUser(userRepository.getReferenceById(userId));
         refreshToken.setExpiryDate(LocalDateTime.now().plusSeconds(refreshTokenDurationMs / 1000));
         refreshToken.setToken(UUID.randomUUID().toString());
+        refreshToken = refreshTokenRepository.save(refreshToken);
 
-        return refreshTokenRepository.save(refreshToken);
-    }
-
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        List<String> revoked = refreshTokenRepository.findIdsBeyondNewest(userId, maxTokensPerUser);
+        if (!revoked.isEmpty()) {
+            refreshTokenRepository.deleteAllByIdInBatch(revoked);
+        }
+        return refreshToken;
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().isBefore(LocalDateTime.now())) {
-            refreshTokenRepository.delete(token);
+    // Read-write so a token issued moments ago is found on the primary; an expired token is
+    // deleted even though the refresh itself fails
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public RefreshTokenOwner verify(String token) {
+        RefreshTokenOwner owner = refreshTokenRepository.findOwnerByToken(token)
+                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+        if (owner.expiryDate().isBefore(LocalDateTime.now())) {
+            refreshTokenRepository.deleteAllByIdInBatch(List.of(owner.tokenId()));
             throw new TokenRefreshException("Refresh token was expired. Please make a new signin request");
         }
-        return token;
+        return owner;
     }
 
     @Transactional
     public void deleteByUser(User user) {
         refreshTokenRepository.deleteByUser(user);
     }
-
-    @Transactional
-    public void deleteExpiredTokens() {
-        refreshTokenRepository.deleteByExpiryDateBefore(LocalDateTime.now());
-    }
-}
\ No newline at end of file
+}
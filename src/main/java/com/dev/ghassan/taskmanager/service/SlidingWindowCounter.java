@@ -0,0 +1,61 @@
+package com.dev.ghassan.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count of events over a sliding window, kept as a ring of time slots. Each
+ * slot packs its slot number and count into one long, so rolling a stale slot over and
+ * counting into it is a single compare-and-set and concurrent updates are never lost.
+ */
+final class SlidingWindowCounter {
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long SLOT_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private final AtomicLongArray slots;
+    private final long slotMillis;
+
+    SlidingWindowCounter(long windowMillis, int slotCount) {
+        this.slots = new AtomicLongArray(slotCount);
+        this.slotMillis = Math.max(1, windowMillis / slotCount);
+    }
+
+    /** Records one event and returns the number of events in the window, including it. */
+    long increment(long nowMillis) {
+        long slot = slotNumber(nowMillis);
+        int index = (int) (slot % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long count = (current >>> COUNT_BITS) == slot ? current & COUNT_MASK : 0;
+            // Saturates rather than overflowing into the slot number
+            long updated = (slot << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+            if (slots.compareAndSet(index, current, updated)) {
+                break;
+            }
+        }
+        return sum(nowMillis);
+    }
+
+    long sum(long nowMillis) {
+        long slot = slotNumber(nowMillis);
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            long age = (slot - (value >>> COUNT_BITS)) & SLOT_MASK;
+            if (age < slots.length()) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    private long slotNumber(long nowMillis) {
+        return (nowMillis / slotMillis) & SLOT_MASK;
+    }
+}
@@ -0,0 +1,301 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskChangeEvent;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes task changes to the owning user's open event streams. Streams are async
+ * requests, so an idle one holds a socket but no thread. Publishers only enqueue
+ * into a small per-subscriber buffer; a shared sender pool drains the buffers, and
+ * a subscriber whose buffer overflows is disconnected instead of slowing anyone else.
+ * A subscriber whose write has been in flight longer than the send timeout is
+ * evicted too, and the pool grows by one thread while that write is stuck, so a
+ * handful of clients with full TCP windows cannot starve the other streams; the
+ * stuck write itself is bounded by the connector's connection timeout.
+ * Events are delivered by the node that made the change, so clients reconnecting
+ * after a gap catch up through the delta sync endpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskChangeFeed {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.tasks.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.tasks.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.tasks.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.tasks.stream.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    // Extra sender threads allowed while writes to evicted clients are still blocked
+    @Value("${app.tasks.stream.max-stalled-senders:16}")
+    private int maxStalledSenders;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+    private ThreadPoolExecutor senders;
+    private Counter droppedEvents;
+    private Counter slowConsumerEvictions;
+    private Counter stalledEvictions;
+
+    @PostConstruct
+    void start() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("task-stream-"));
+        Gauge.builder("tasks.stream.connections", connections, AtomicInteger::get)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        droppedEvents = Counter.builder("tasks.stream.events.dropped")
+                .description("Task change events discarded because a subscriber fell behind")
+                .register(meterRegistry);
+        slowConsumerEvictions = Counter.builder("tasks.stream.evictions")
+                .description("Task change streams closed because the client fell behind")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        stalledEvictions = Counter.builder("tasks.stream.evictions")
+                .description("Task change streams closed because the client fell behind")
+                .tag("reason", "stalled")
+                .register(meterRegistry);
+        Gauge.builder("tasks.stream.senders.stalled", stalledSenders, AtomicInteger::get)
+                .description("Sender threads blocked writing to evicted task streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Added inside compute so a concurrent remove() cannot drop the set out from under us
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> userSubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (userSubscribers.size() >= maxConnectionsPerUser) {
+                throw new RateLimitExceededException("Too many open task streams");
+            }
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+        connections.incrementAndGet();
+
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // Written immediately so the client sees the stream open before the first change
+        offer(subscriber, SseEmitter.event().comment("connected"));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Delivers an event to the user's streams once the current transaction commits,
+     * so listeners never see a change that was rolled back.
+     */
+    public void publish(Long userId, TaskChangeEvent event) {
+        if (!subscribers.containsKey(userId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, event);
+                }
+            });
+        } else {
+            deliver(userId, event);
+        }
+    }
+
+    // Keeps idle streams from being closed by proxies and finds dead sockets
+    @Scheduled(fixedDelayString = "${app.tasks.stream.heartbeat-interval:30000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> offer(subscriber, SseEmitter.event().comment("ping"))));
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.stream.stall-check-interval:1000}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            long started = subscriber.sendStartedAt.get();
+            if (started != 0 && now - started > sendTimeout.toNanos() && evict(subscriber)) {
+                stalledEvictions.increment();
+                log.debug("Closing task stream for user {}: write blocked for over {}", subscriber.userId, sendTimeout);
+                // The blocked thread is lost to the pool until its write times out; stand in for it
+                if (stalledSenders.get() < maxStalledSenders) {
+                    subscriber.stalledSender.set(true);
+                    stalledSenders.incrementAndGet();
+                    resizeSenders();
+                }
+            }
+        }));
+    }
+
+    private void deliver(Long userId, TaskChangeEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once here rather than once per connection by the emitter
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize task change event for task {}", event.getId(), e);
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            offer(subscriber, SseEmitter.event()
+                    .id(String.valueOf(event.getChangeSeq()))
+                    .name(event.getType().name().toLowerCase(Locale.ROOT))
+                    .data(data));
+        }
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            int dropped = 1 + subscriber.buffer.size();
+            if (evict(subscriber)) {
+                droppedEvents.increment(dropped);
+                slowConsumerEvictions.increment();
+                log.debug("Closing task stream for user {}: subscriber fell {} events behind", subscriber.userId, bufferSize);
+            }
+            return;
+        }
+        // At most one drain task per subscriber is ever queued or running
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            if (subscriber.closed.get()) {
+                subscriber.buffer.clear();
+                subscriber.draining.set(false);
+                subscriber.emitter.complete();
+                return;
+            }
+            SseEmitter.SseEventBuilder event = subscriber.buffer.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                // Re-check in case an event arrived between the empty poll and releasing the flag
+                if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            subscriber.sendStartedAt.set(System.nanoTime());
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                subscriber.closed.set(true);
+                remove(subscriber);
+                subscriber.buffer.clear();
+                subscriber.draining.set(false);
+                return;
+            } finally {
+                subscriber.sendStartedAt.set(0);
+                if (subscriber.stalledSender.compareAndSet(true, false)) {
+                    stalledSenders.decrementAndGet();
+                    resizeSenders();
+                }
+            }
+        }
+    }
+
+    // Stops queueing for the subscriber; completing the emitter is left to its drain task if one
+    // is running, since completing takes the same lock as the write that may be blocked
+    private boolean evict(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        remove(subscriber);
+        subscriber.buffer.clear();
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+        return true;
+    }
+
+    private synchronized void resizeSenders() {
+        int size = senderThreads + stalledSenders.get();
+        // The core size may never exceed the maximum, so the order depends on the direction
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, set) -> {
+            if (set.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private record Subscriber(Long userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> buffer,
+                              AtomicBoolean draining, AtomicBoolean closed, AtomicLong sendStartedAt,
+                              AtomicBoolean stalledSender) {
+        Subscriber(Long userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> buffer) {
+            this(userId, emitter, buffer, new AtomicBoolean(), new AtomicBoolean(), new AtomicLong(), new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskResponse;
+import com.dev.ghassan.taskmanager.exception.InvalidRequestException;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.repository.TaskExportRow;
+import com.dev.ghassan.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's tasks straight from a streaming result set to the response, one task at
+ * a time, so memory use does not depend on how many tasks the user has. Each export
+ * holds a connection for its whole duration, so the number running at once is capped.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileName() {
+            return "tasks." + extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return value == null ? NDJSON : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unsupported format: " + value);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,dueDate,createdAt,updatedAt,tags\n";
+    private static final char TAG_SEPARATOR = ';';
+
+    private final TaskRepository taskRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final InputSanitizationService sanitizationService;
+
+    @Value("${app.tasks.export.max-concurrent:4}")
+    private int maxConcurrentExports;
+
+    private Semaphore exportPermits;
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectWriter taskWriter;
+
+    @PostConstruct
+    void init() {
+        exportPermits = new Semaphore(maxConcurrentExports);
+        // Read-only so the export runs on the replica when one is configured
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        taskWriter = objectMapper.writerFor(TaskResponse.class);
+    }
+
+    /**
+     * Reserves an export slot now, so an overloaded server answers 429 before any
+     * headers are sent, and returns the body that streams the export.
+     */
+    public StreamingResponseBody export(Long userId, Format format) {
+        if (!exportPermits.tryAcquire()) {
+            throw new RateLimitExceededException("Too many exports in progress, please retry shortly");
+        }
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) {
+                exportPermits.release();
+            }
+        };
+        releaseOnAsyncCompletion(release);
+        return outputStream -> {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<TaskExportRow> rows = taskRepository.streamForExport(userId)) {
+                        write(rows.iterator(), format, writer);
+                    }
+                });
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                // Usually the client went away mid-download
+                throw e.getCause();
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    // The body may never run: the executor can reject it, or the request can time out or fail
+    // before it is dispatched. Completion of the async request, however it ends, returns the permit
+    private static void releaseOnAsyncCompletion(Runnable release) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(attributes.getRequest())
+                .registerCallableInterceptor(TaskExportService.class.getName(), new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+    }
+
+    private void write(Iterator<TaskExportRow> rows, Format format, Writer writer) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            TaskResponse current = null;
+            while (rows.hasNext()) {
+                TaskExportRow row = rows.next();
+                if (current == null || !current.getId().equals(row.id())) {
+                    if (current != null) {
+                        writeTask(current, format, writer);
+                    }
+                    current = toResponse(row);
+                }
+                if (row.tag() != null) {
+                    current.getTags().add(sanitizationService.unescape(row.tag()));
+                }
+            }
+            if (current != null) {
+                writeTask(current, format, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeTask(TaskResponse task, Format format, Writer writer) throws IOException {
+        if (format == Format.NDJSON) {
+            writer.write(taskWriter.writeValueAsString(task));
+            writer.write('\n');
+            return;
+        }
+        writeCsvField(writer, task.getId());
+        writer.write(',');
+        writeCsvField(writer, task.getTitle());
+        writer.write(',');
+        writeCsvField(writer, task.getDescription());
+        writer.write(',');
+        writeCsvField(writer, task.getStatus());
+        writer.write(',');
+        writeCsvField(writer, task.getPriority());
+        writer.write(',');
+        writeCsvField(writer, task.getDueDate());
+        writer.write(',');
+        writeCsvField(writer, task.getCreatedAt());
+        writer.write(',');
+        writeCsvField(writer, task.getUpdatedAt());
+        writer.write(',');
+        writeCsvField(writer, String.join(String.valueOf(TAG_SEPARATOR), task.getTags()));
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        // Spreadsheets evaluate cells starting with these characters as formulas
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Text is written as entered, so importing the file does not encode it a second time
+    private TaskResponse toResponse(TaskExportRow row) {
+        TaskResponse response = new TaskResponse();
+        response.setId(row.id());
+        response.setTitle(sanitizationService.unescape(row.title()));
+        response.setDescription(sanitizationService.unescape(row.description()));
+        response.setStatus(row.status());
+        response.setPriority(row.priority());
+        response.setDueDate(row.dueDate());
+        response.setCreatedAt(row.createdAt());
+        response.setUpdatedAt(row.updatedAt());
+        response.setVersion(row.version());
+        response.setTags(new ArrayList<>());
+        return response;
+    }
+}
@@ -0,0 +1,288 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskRequest;
+import com.dev.ghassan.taskmanager.exception.InvalidRequestException;
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an uploaded NDJSON or CSV file one record at a time. Only the current record
+ * is held in memory, and records longer than the configured limit are skipped and
+ * reported instead of being buffered. Accepts the files written by the export, so
+ * columns and fields the import does not use are ignored.
+ */
+final class TaskImportReader {
+    record Record(long row, TaskRequest request, String error) {
+    }
+
+    private static final char TAG_SEPARATOR = ';';
+    private static final int EOF = -1;
+
+    private final BufferedReader reader;
+    private final TaskExportService.Format format;
+    private final ObjectReader jsonReader;
+    private final int maxRecordLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long row;
+
+    TaskImportReader(InputStream in, TaskExportService.Format format, ObjectReader jsonReader, int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.jsonReader = jsonReader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /** Returns the next record, or null at the end of the file. Rows are numbered from 1, excluding the CSV header. */
+    Record next() throws IOException {
+        return format == TaskExportService.Format.CSV ? nextCsv(true) : nextJson(true);
+    }
+
+    /** Moves past up to count records without converting them; returns how many were skipped. */
+    long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count
+                && (format == TaskExportService.Format.CSV ? nextCsv(false) : nextJson(false)) != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private Record nextJson(boolean convert) throws IOException {
+        while (true) {
+            Boolean complete = readLine();
+            if (complete == null) {
+                return null;
+            }
+            if (complete && buffer.toString().isBlank()) {
+                continue;
+            }
+            row++;
+            if (!complete) {
+                return new Record(row, null, tooLong());
+            }
+            if (!convert) {
+                return new Record(row, null, null);
+            }
+            try {
+                return new Record(row, jsonReader.readValue(buffer.toString()), null);
+            } catch (JsonProcessingException e) {
+                return new Record(row, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private Record nextCsv(boolean convert) throws IOException {
+        if (columns == null) {
+            columns = readHeader();
+        }
+        while (true) {
+            List<String> fields = new ArrayList<>();
+            Boolean complete = readCsvRecord(fields);
+            if (complete == null) {
+                return null;
+            }
+            if (complete && fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            if (!complete) {
+                return new Record(row, null, tooLong());
+            }
+            if (!convert) {
+                return new Record(row, null, null);
+            }
+            try {
+                return new Record(row, toRequest(fields), null);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return new Record(row, null, e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        List<String> header = new ArrayList<>();
+        if (!Boolean.TRUE.equals(readCsvRecord(header))) {
+            throw new InvalidRequestException("CSV import must start with a header row");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            indexes.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!indexes.containsKey("title")) {
+            throw new InvalidRequestException("CSV header must include a title column");
+        }
+        return indexes;
+    }
+
+    private TaskRequest toRequest(List<String> fields) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(field(fields, "title"));
+        request.setDescription(field(fields, "description"));
+        String status = field(fields, "status");
+        if (status != null) {
+            request.setStatus(parseEnum(TaskStatus.class, "status", status));
+        }
+        String priority = field(fields, "priority");
+        if (priority != null) {
+            request.setPriority(parseEnum(TaskPriority.class, "priority", priority));
+        }
+        String dueDate = field(fields, "duedate");
+        if (dueDate != null) {
+            request.setDueDate(parseDueDate(dueDate));
+        }
+        String tags = field(fields, "tags");
+        if (tags != null) {
+            request.setTags(Arrays.stream(tags.split(String.valueOf(TAG_SEPARATOR)))
+                    .map(String::trim)
+                    .filter(tag -> !tag.isEmpty())
+                    .toList());
+        }
+        return request;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        String value = fields.get(index);
+        // Undo the export's spreadsheet formula guard
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@\t\r".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String column, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDueDate(String value) {
+        String text = value.trim();
+        try {
+            return text.length() == 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid dueDate: " + value);
+        }
+    }
+
+    private String tooLong() {
+        return "Record exceeds " + maxRecordLength + " characters";
+    }
+
+    /**
+     * Reads one line into the buffer. Returns null at the end of the file, or false when
+     * the line was longer than the limit, in which case the rest of it is discarded.
+     */
+    private Boolean readLine() throws IOException {
+        buffer.setLength(0);
+        boolean truncated = false;
+        int c = reader.read();
+        if (c == EOF) {
+            return null;
+        }
+        while (c != EOF && c != '\n') {
+            if (buffer.length() < maxRecordLength) {
+                buffer.append((char) c);
+            } else {
+                truncated = true;
+            }
+            c = reader.read();
+        }
+        if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        stripByteOrderMark();
+        return !truncated;
+    }
+
+    /**
+     * Reads one RFC 4180 record; quoted fields may contain separators, doubled quotes
+     * and line breaks. Returns null at the end of the file, or false when the record was
+     * longer than the limit, in which case it is consumed but its fields are incomplete.
+     */
+    private Boolean readCsvRecord(List<String> fields) throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == EOF) {
+            return null;
+        }
+        int length = 0;
+        boolean quoted = false;
+        while (c != EOF) {
+            if (++length > maxRecordLength) {
+                skipCsvRecord(c, quoted);
+                return false;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        buffer.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    buffer.append((char) c);
+                }
+            } else if (c == '"' && buffer.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(buffer.toString());
+                buffer.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                buffer.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(buffer.toString());
+        stripByteOrderMark(fields);
+        return true;
+    }
+
+    private void skipCsvRecord(int c, boolean quoted) throws IOException {
+        while (c != EOF && (quoted || c != '\n')) {
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            c = reader.read();
+        }
+    }
+
+    private void stripByteOrderMark() {
+        if (row == 0 && !buffer.isEmpty() && buffer.charAt(0) == '\uFEFF') {
+            buffer.deleteCharAt(0);
+        }
+    }
+
+    private void stripByteOrderMark(List<String> fields) {
+        if (columns == null && fields.get(0).startsWith("\uFEFF")) {
+            fields.set(0, fields.get(0).substring(1));
+        }
+    }
+}
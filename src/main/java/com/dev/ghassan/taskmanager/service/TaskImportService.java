@@ -0,0 +1,179 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskImportResponse;
+import com.dev.ghassan.taskmanager.dto.TaskRequest;
+import com.dev.ghassan.taskmanager.exception.InvalidRequestException;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.exception.ResourceNotFoundException;
+import com.dev.ghassan.taskmanager.model.TaskImportError;
+import com.dev.ghassan.taskmanager.model.TaskImportJob;
+import com.dev.ghassan.taskmanager.model.TaskImportStatus;
+import com.dev.ghassan.taskmanager.repository.TaskImportErrorRepository;
+import com.dev.ghassan.taskmanager.repository.TaskImportJobRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from an upload as it arrives. Rows are read, validated and inserted a
+ * chunk at a time; each chunk commits in its own transaction together with the job's
+ * checkpoint, so memory use is bounded by the chunk size and an interrupted upload can
+ * be sent again with its job id to continue after the last committed row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+    /** Inserts one chunk of validated rows; called inside the chunk's transaction. */
+    @FunctionalInterface
+    interface ChunkWriter {
+        void insert(Long userId, List<TaskRequest> requests);
+    }
+
+    private final TaskImportJobRepository jobRepository;
+    private final TaskImportErrorRepository errorRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.tasks.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.tasks.import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    // Row errors stored per job; the failure count keeps going past it
+    @Value("${app.tasks.import.max-errors:1000}")
+    private int maxStoredErrors;
+
+    @Value("${app.tasks.import.reported-errors:100}")
+    private int reportedErrors;
+
+    @Value("${app.tasks.import.max-concurrent:2}")
+    private int maxConcurrentImports;
+
+    private Semaphore importPermits;
+    private TransactionTemplate chunkTransaction;
+    private ObjectReader taskReader;
+
+    @PostConstruct
+    void init() {
+        importPermits = new Semaphore(maxConcurrentImports);
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        taskReader = objectMapper.readerFor(TaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Transactional
+    public TaskImportResponse createJob(Long userId, TaskExportService.Format format) {
+        return toResponse(jobRepository.save(new TaskImportJob(userId, format.name())));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskImportResponse getJob(Long userId, String jobId) {
+        return toResponse(findJob(userId, jobId));
+    }
+
+    /**
+     * Runs or resumes an import. validator returns an error message for an invalid
+     * row or null; writer inserts each chunk of valid rows.
+     */
+    public TaskImportResponse importTasks(Long userId, TaskExportService.Format format, String jobId, InputStream body,
+                                          Function<TaskRequest, String> validator, ChunkWriter writer) throws IOException {
+        if (!importPermits.tryAcquire()) {
+            throw new RateLimitExceededException("Too many imports in progress, please retry shortly");
+        }
+        try {
+            TaskImportJob job = jobId == null
+                    ? jobRepository.save(new TaskImportJob(userId, format.name()))
+                    : findJob(userId, jobId);
+            if (!job.getFormat().equals(format.name())) {
+                throw new InvalidRequestException("Import " + job.getId() + " was started as " + job.getFormat());
+            }
+            if (job.getStatus() == TaskImportStatus.COMPLETED) {
+                return toResponse(job);
+            }
+            TaskImportReader reader = new TaskImportReader(body, format, taskReader, maxRecordLength);
+            // Rows up to the checkpoint were committed by an earlier attempt
+            reader.skip(job.getRowsProcessed());
+
+            List<TaskRequest> valid = new ArrayList<>(chunkSize);
+            List<TaskImportError> errors = new ArrayList<>();
+            int rows = 0;
+            TaskImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                String error = record.error() != null ? record.error() : validator.apply(record.request());
+                if (error != null) {
+                    errors.add(new TaskImportError(job.getId(), record.row(), error));
+                } else {
+                    valid.add(record.request());
+                }
+                if (++rows == chunkSize) {
+                    job = commitChunk(job, rows, valid, errors, writer, false);
+                    rows = 0;
+                    valid.clear();
+                    errors.clear();
+                }
+            }
+            job = commitChunk(job, rows, valid, errors, writer, true);
+            log.info("Import {} for user {} completed: {} imported, {} failed",
+                    job.getId(), userId, job.getRowsImported(), job.getRowsFailed());
+            return toResponse(job);
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    private TaskImportJob commitChunk(TaskImportJob job, int rows, List<TaskRequest> valid, List<TaskImportError> errors,
+                                      ChunkWriter writer, boolean last) {
+        // Each chunk gets a fresh persistence context, so nothing accumulates across chunks
+        return chunkTransaction.execute(status -> {
+            if (!valid.isEmpty()) {
+                writer.insert(job.getUserId(), valid);
+            }
+            long storable = Math.max(0, maxStoredErrors - job.getRowsFailed());
+            if (storable > 0 && !errors.isEmpty()) {
+                errorRepository.saveAll(errors.subList(0, (int) Math.min(storable, errors.size())));
+            }
+            job.setRowsProcessed(job.getRowsProcessed() + rows);
+            job.setRowsImported(job.getRowsImported() + valid.size());
+            job.setRowsFailed(job.getRowsFailed() + errors.size());
+            if (last) {
+                job.setStatus(TaskImportStatus.COMPLETED);
+            }
+            // The version check fails the chunk if another upload of this job committed first
+            return jobRepository.saveAndFlush(job);
+        });
+    }
+
+    private TaskImportJob findJob(Long userId, String jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + jobId));
+    }
+
+    private TaskImportResponse toResponse(TaskImportJob job) {
+        List<TaskImportResponse.RowError> errors = job.getRowsFailed() == 0
+                ? List.of()
+                : errorRepository.findByJobIdOrderByRowNumber(job.getId(), Limit.of(reportedErrors)).stream()
+                        .map(error -> new TaskImportResponse.RowError(error.getRowNumber(), error.getMessage()))
+                        .collect(Collectors.toList());
+        return new TaskImportResponse(job.getId(), job.getStatus(), job.getRowsProcessed(),
+                job.getRowsImported(), job.getRowsFailed(), errors);
+    }
+}
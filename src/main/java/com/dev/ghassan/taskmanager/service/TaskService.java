@@ -1,34 +1,120 @@
 package com.dev.ghassan.taskmanager.service;
 
+import com.dev.ghassan.taskmanager.dto.TaskBatchResponse;
+import com.dev.ghassan.taskmanager.dto.TaskBatchResult;
+import com.dev.ghassan.taskmanager.dto.TaskBatchUpdateItem;
+import com.dev.ghassan.taskmanager.dto.TaskChangeEvent;
+import com.dev.ghassan.taskmanager.dto.TaskChangesResponse;
+import com.dev.ghassan.taskmanager.dto.TaskFilter;
+import com.dev.ghassan.taskmanager.dto.TaskImportResponse;
+import com.dev.ghassan.taskmanager.dto.TaskPageResponse;
 import com.dev.ghassan.taskmanager.dto.TaskRequest;
 import com.dev.ghassan.taskmanager.dto.TaskResponse;
+import com.dev.ghassan.taskmanager.dto.TaskSearchResponse;
+import com.dev.ghassan.taskmanager.dto.TaskStatsResponse;
+import com.dev.ghassan.taskmanager.dto.TaskStatusResponse;
+import com.dev.ghassan.taskmanager.exception.ConflictException;
+import com.dev.ghassan.taskmanager.exception.InvalidRequestException;
 import com.dev.ghassan.taskmanager.exception.ResourceNotFoundException;
+import com.dev.ghassan.taskmanager.model.BinaryUuidType;
 import com.dev.ghassan.taskmanager.model.Task;
 import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.model.TaskTombstone;
 import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.repository.TaskCursor;
 import com.dev.ghassan.taskmanager.repository.TaskRepository;
+import com.dev.ghassan.taskmanager.repository.TaskSearchHit;
+import com.dev.ghassan.taskmanager.repository.TaskSearchQuery;
+import com.dev.ghassan.taskmanager.repository.TaskSpecifications;
+import com.dev.ghassan.taskmanager.repository.TaskStatsSnapshot;
+import com.dev.ghassan.taskmanager.repository.TaskSyncCursor;
+import com.dev.ghassan.taskmanager.repository.TaskTombstoneRepository;
 import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.dev.ghassan.taskmanager.security.AuthenticatedUser;
+import com.dev.ghassan.taskmanager.security.UserIdentityCache;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
     private final UserRepository userRepository;
     private final InputSanitizationService sanitizationService;
+    private final UserIdentityCache userIdentityCache;
+    private final TaskChangeFeed changeFeed;
+    private final TaskStatsService statsService;
+    private final TaskExportService exportService;
+    private final TaskImportService importService;
+    private final Validator validator;
 
-    private User getCurrentUser() {
-        // Authentication now contains email as the principal
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
+    @Value("${app.tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.tasks.batch.max-size:500}")
+    private int maxBatchSize;
+
+    // Matches InnoDB's default innodb_ft_min_token_size
+    @Value("${app.tasks.search.min-term-length:3}")
+    private int searchMinTermLength;
+
+    @Value("${app.tasks.search.max-terms:8}")
+    private int searchMaxTerms;
+
+    @Value("${app.tasks.search.max-results:1000}")
+    private int searchMaxResults;
+
+    @Value("${app.tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
+        // Authentication contains email as the principal name
+        String email = authentication.getName();
+        return userIdentityCache.get(email)
+                .map(AuthenticatedUser::getId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    // Reference proxy only; the users row is never selected just to scope task queries
+    private User getCurrentUser() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
     private TaskResponse mapToResponse(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
@@ -38,10 +124,36 @@ public class TaskService {
         response.setPriority(task.getPriority());
         response.setDueDate(task.getDueDate());
         response.setCreatedAt(task.getCreatedAt());
+        response.setUpdatedAt(task.getUpdatedAt());
         response.setTags(task.getTags());
+        response.setVersion(task.getVersion());
         return response;
     }
 
+    private void applyRequest(Task task, TaskRequest request) {
+        task.setTitle(sanitizationService.sanitizeString(request.getTitle()));
+        task.setDescription(sanitizationService.sanitizeString(request.getDescription()));
+        task.setStatus(request.getStatus());
+        task.setPriority(request.getPriority());
+        task.setDueDate(request.getDueDate());
+        task.setTags(sanitizationService.sanitizeStringList(request.getTags()));
+    }
+
+    // Changes whenever any of the user's tasks is written; identifies one version of the task list
+    @Transactional(readOnly = true)
+    public String getTaskListVersion() {
+        Long userId = getCurrentUserId();
+        long revision = userRepository.findTaskRevisionById(userId).orElse(0L);
+        return userId + "-" + revision;
+    }
+
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(String id) {
+        return taskRepository.findVersionByIdAndUserId(id, getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
         User user = getCurrentUser();
         return taskRepository.findByUser(user).stream()
@@ -49,6 +161,119 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTasksPage(TaskFilter filter, String cursor, Integer limit) {
+        Long userId = getCurrentUserId();
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        Specification<Task> spec = TaskSpecifications.ownedBy(userId)
+                .and(TaskSpecifications.matching(filter));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TaskSpecifications.after(TaskCursor.decode(cursor)));
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Task> tasks = taskRepository.findBy(spec, query -> query
+                .sortBy(TaskSpecifications.NEWEST_FIRST)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = hasMore ? TaskCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new TaskPageResponse(
+                page.stream().map(this::mapToResponse).collect(Collectors.toList()),
+                nextCursor,
+                hasMore
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(String since, Integer limit) {
+        Long userId = getCurrentUserId();
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        Instant now = Instant.now();
+
+        TaskSyncCursor cursor = since == null || since.isBlank() ? TaskSyncCursor.start(now) : TaskSyncCursor.decode(since);
+        if (!cursor.isStart() && cursor.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+            return TaskChangesResponse.reset();
+        }
+
+        List<Task> tasks = taskRepository.findChangedSince(userId, cursor.changeSeq(), cursor.id(), Limit.of(pageSize + 1));
+        // A client syncing from scratch has nothing to delete
+        List<TaskTombstone> tombstones = cursor.isStart()
+                ? List.of()
+                : tombstoneRepository.findChangedSince(userId, cursor.changeSeq(), cursor.id(), Limit.of(pageSize + 1));
+
+        // Merge both (changeSeq, id) ordered streams and cut the page at pageSize entries
+        List<TaskResponse> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        long lastSeq = cursor.changeSeq();
+        String lastId = cursor.id();
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < pageSize && (t < tasks.size() || d < tombstones.size())) {
+            boolean takeTask = d == tombstones.size()
+                    || (t < tasks.size() && compareChange(tasks.get(t), tombstones.get(d)) < 0);
+            if (takeTask) {
+                Task task = tasks.get(t++);
+                changed.add(mapToResponse(task));
+                lastSeq = task.getChangeSeq();
+                lastId = task.getId();
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getTaskId());
+                lastSeq = tombstone.getChangeSeq();
+                lastId = tombstone.getTaskId();
+            }
+        }
+
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        // Mid-sync the client is only as current as when it started, so keep the original issue time
+        Instant issuedAt = hasMore ? cursor.issuedAt() : now;
+        String nextCursor = new TaskSyncCursor(lastSeq, lastId, issuedAt).encode();
+        return new TaskChangesResponse(changed, deleted, nextCursor, hasMore, false);
+    }
+
+    private static int compareChange(Task task, TaskTombstone tombstone) {
+        int bySeq = Long.compare(task.getChangeSeq(), tombstone.getChangeSeq());
+        return bySeq != 0 ? bySeq : task.getId().compareTo(tombstone.getTaskId());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(String text, Integer page, Integer size) {
+        Long userId = getCurrentUserId();
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        // Relevance ordering means offset paging, so deep pages are capped rather than scanned
+        if ((long) pageNumber * pageSize >= searchMaxResults) {
+            throw new InvalidRequestException("Search results are limited to the first " + searchMaxResults + " matches");
+        }
+
+        String query = TaskSearchQuery.toBooleanMode(text, searchMinTermLength, searchMaxTerms);
+        if (query == null) {
+            return new TaskSearchResponse(List.of(), pageNumber, pageSize, false);
+        }
+
+        List<TaskSearchHit> hits = taskRepository.search(userId, query, pageSize + 1, pageNumber * pageSize);
+        boolean hasMore = hits.size() > pageSize;
+        List<String> ids = hits.stream()
+                .limit(pageSize)
+                .map(TaskSearchHit::getId)
+                .collect(Collectors.toList());
+
+        // The index query only ranks ids; load the page of tasks with their tags in one go
+        Map<String, Task> tasks = findOwnedTasks(ids);
+        List<TaskResponse> items = ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new TaskSearchResponse(items, pageNumber, pageSize, hasMore);
+    }
+
+    @Transactional(readOnly = true)
     public TaskResponse getTaskById(String id) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(id, user)
@@ -56,51 +281,314 @@ public class TaskService {
         return mapToResponse(task);
     }
 
+    @Transactional
     public TaskResponse createTask(TaskRequest request) {
         User user = getCurrentUser();
         Task task = new Task();
-        task.setTitle(sanitizationService.sanitizeString(request.getTitle()));
-        task.setDescription(sanitizationService.sanitizeString(request.getDescription()));
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setTags(sanitizationService.sanitizeStringList(request.getTags()));
+        applyRequest(task, request);
         task.setUser(user);
+        task.setChangeSeq(nextChangeSeq(user.getId()));
         
         Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.added(TaskStatsSnapshot.of(savedTask));
+        statsService.apply(user.getId(), stats);
+
+        TaskResponse response = mapToResponse(savedTask);
+        changeFeed.publish(user.getId(), TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, response, task.getChangeSeq()));
+        return response;
     }
 
-    public TaskResponse updateTask(String id, TaskRequest request) {
+    @Transactional
+    public TaskResponse updateTask(String id, TaskRequest request, Long expectedVersion) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ConflictException("Task " + id + " was modified concurrently");
+        }
 
-        task.setTitle(sanitizationService.sanitizeString(request.getTitle()));
-        task.setDescription(sanitizationService.sanitizeString(request.getDescription()));
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setTags(sanitizationService.sanitizeStringList(request.getTags()));
+        task.setChangeSeq(nextChangeSeq(user.getId()));
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
+        applyRequest(task, request);
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+        // Flush so the response carries the incremented version
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.changed(before, TaskStatsSnapshot.of(updatedTask));
+        statsService.apply(user.getId(), stats);
+
+        TaskResponse response = mapToResponse(updatedTask);
+        changeFeed.publish(user.getId(), TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, response, task.getChangeSeq()));
+        return response;
     }
 
-    public TaskResponse updateTaskStatus(String id, TaskStatus status) {
-        User user = getCurrentUser();
-        Task task = taskRepository.findByIdAndUser(id, user)
+    @Transactional
+    public TaskStatusResponse updateTaskStatus(String id, TaskStatus status, Long expectedVersion) {
+        Long userId = getCurrentUserId();
+        Long changeSeq = nextChangeSeq(userId);
+        // Read under the owner's lock, so it cannot change before the UPDATE below.
+        // Throwing rolls the revision bump back along with everything else
+        TaskStatsSnapshot before = taskRepository.findStatsSnapshot(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        
-        task.setStatus(status);
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+
+        // Owner-scoped UPDATE without loading the task; with a version, no match means a concurrent change
+        int updated = expectedVersion == null
+                ? taskRepository.updateStatus(id, userId, status, changeSeq, LocalDateTime.now())
+                : taskRepository.updateStatusIfVersion(id, userId, status, expectedVersion, changeSeq, LocalDateTime.now());
+        if (updated == 0) {
+            throw new ConflictException("Task " + id + " was modified concurrently");
+        }
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.changed(before, before.withStatus(status));
+        statsService.apply(userId, stats);
+
+        // Both UPDATEs bump the version by exactly one
+        TaskStatusResponse response = new TaskStatusResponse(id, status, before.version() + 1);
+        changeFeed.publish(userId, TaskChangeEvent.statusChanged(response, changeSeq));
+        return response;
     }
 
+    @Transactional
     public void deleteTask(String id) {
-        User user = getCurrentUser();
-        Task task = taskRepository.findByIdAndUser(id, user)
+        Long userId = getCurrentUserId();
+        Long changeSeq = nextChangeSeq(userId);
+        TaskStatsSnapshot before = taskRepository.findStatsSnapshot(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        taskRepository.delete(task);
+        taskRepository.deleteTagsByIdAndUserId(BinaryUuidType.toBinary(id), userId);
+        taskRepository.deleteByIdAndUserId(id, userId);
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.removed(before);
+        statsService.apply(userId, stats);
+        tombstoneRepository.save(new TaskTombstone(id, userId, changeSeq, LocalDateTime.now()));
+        changeFeed.publish(userId, TaskChangeEvent.deleted(id, changeSeq));
+    }
+
+    public StreamingResponseBody exportTasks(TaskExportService.Format format) {
+        return exportService.export(getCurrentUserId(), format);
+    }
+
+    public TaskImportResponse createImportJob(TaskExportService.Format format) {
+        return importService.createJob(getCurrentUserId(), format);
+    }
+
+    public TaskImportResponse getImportJob(String jobId) {
+        return importService.getJob(getCurrentUserId(), jobId);
+    }
+
+    // Not transactional: the import commits chunk by chunk
+    public TaskImportResponse importTasks(TaskExportService.Format format, String jobId, InputStream body) throws IOException {
+        return importService.importTasks(getCurrentUserId(), format, jobId, body, this::validate, this::insertImported);
+    }
+
+    // Imported tasks are not pushed to change streams; clients pick them up through /changes
+    private void insertImported(Long userId, List<TaskRequest> requests) {
+        User user = userRepository.getReferenceById(userId);
+        Long changeSeq = nextChangeSeq(userId);
+        List<Task> tasks = new ArrayList<>(requests.size());
+        TaskStatsDelta stats = new TaskStatsDelta();
+        for (TaskRequest request : requests) {
+            Task task = new Task();
+            applyRequest(task, request);
+            task.setUser(user);
+            task.setChangeSeq(changeSeq);
+            tasks.add(task);
+            stats.added(TaskStatsSnapshot.of(task));
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        statsService.apply(userId, stats);
+    }
+
+    public TaskStatsResponse getStats() {
+        return statsService.getStats(getCurrentUserId());
+    }
+
+    public SseEmitter subscribeToChanges() {
+        return changeFeed.subscribe(getCurrentUserId());
+    }
+
+    // Bumps the owner's task revision (the list ETag marker) and returns it as the change sequence
+    // for this transaction's writes. Call before dirtying entities so they are flushed only once
+    private Long nextChangeSeq(Long userId) {
+        userRepository.incrementTaskRevision(userId);
+        return userRepository.findTaskRevisionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    @Transactional
+    public TaskBatchResponse createTasks(List<TaskRequest> requests) {
+        checkBatchSize(requests.size());
+        User user = getCurrentUser();
+
+        List<TaskBatchResult> results = new ArrayList<>(requests.size());
+        List<TaskBatchResult> createdResults = new ArrayList<>();
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(new TaskBatchResult(i, null, TaskBatchResult.Status.INVALID, error, null));
+                continue;
+            }
+            Task task = new Task();
+            applyRequest(task, request);
+            task.setUser(user);
+
+            TaskBatchResult result = new TaskBatchResult(i, null, TaskBatchResult.Status.CREATED, null, null);
+            results.add(result);
+            createdResults.add(result);
+            created.add(task);
+        }
+
+        if (!created.isEmpty()) {
+            Long changeSeq = nextChangeSeq(user.getId());
+            created.forEach(task -> task.setChangeSeq(changeSeq));
+        }
+
+        // Ids are assigned in memory, so the flush sends all inserts as JDBC batches
+        taskRepository.saveAll(created);
+        taskRepository.flush();
+        if (!created.isEmpty()) {
+            TaskStatsDelta stats = new TaskStatsDelta();
+            created.forEach(task -> stats.added(TaskStatsSnapshot.of(task)));
+            statsService.apply(user.getId(), stats);
+        }
+
+        for (int i = 0; i < created.size(); i++) {
+            Task task = created.get(i);
+            createdResults.get(i).setId(task.getId());
+            createdResults.get(i).setTask(mapToResponse(task));
+            changeFeed.publish(user.getId(), TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, createdResults.get(i).getTask(), task.getChangeSeq()));
+        }
+        return TaskBatchResponse.of(results);
+    }
+
+    @Transactional
+    public TaskBatchResponse updateTasks(List<TaskBatchUpdateItem> items) {
+        checkBatchSize(items.size());
+        Map<String, Task> tasks = findOwnedTasks(items.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBatchUpdateItem::getId)
+                .collect(Collectors.toList()));
+        // Taken before any task is dirtied so each updated row is flushed once
+        Long userId = getCurrentUserId();
+        Long changeSeq = tasks.isEmpty() ? null : nextChangeSeq(userId);
+
+        List<TaskBatchResult> results = new ArrayList<>(items.size());
+        List<TaskBatchResult> updatedResults = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        TaskStatsDelta stats = new TaskStatsDelta();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchUpdateItem item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results.add(new TaskBatchResult(i, item == null ? null : item.getId(), TaskBatchResult.Status.INVALID, error, null));
+                continue;
+            }
+            Task task = tasks.get(normalizeId(item.getId()));
+            if (task == null) {
+                results.add(new TaskBatchResult(i, item.getId(), TaskBatchResult.Status.NOT_FOUND, "Task not found with id: " + item.getId(), null));
+                continue;
+            }
+            TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
+            applyRequest(task, item);
+            task.setChangeSeq(changeSeq);
+            stats.changed(before, TaskStatsSnapshot.of(task));
+
+            TaskBatchResult result = new TaskBatchResult(i, task.getId(), TaskBatchResult.Status.UPDATED, null, null);
+            results.add(result);
+            updatedResults.add(result);
+            updated.add(task);
+        }
+
+        taskRepository.flush();
+        statsService.apply(userId, stats);
+
+        for (int i = 0; i < updated.size(); i++) {
+            updatedResults.get(i).setTask(mapToResponse(updated.get(i)));
+            changeFeed.publish(userId, TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, updatedResults.get(i).getTask(), changeSeq));
+        }
+        return TaskBatchResponse.of(results);
+    }
+
+    @Transactional
+    public TaskBatchResponse deleteTasks(List<String> ids) {
+        checkBatchSize(ids.size());
+        Map<String, Task> tasks = findOwnedTasks(ids);
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        List<Task> deleted = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                results.add(new TaskBatchResult(i, id, TaskBatchResult.Status.INVALID, "Task id is required", null));
+                continue;
+            }
+            // remove() so a repeated id is reported once as deleted and then as not found
+            Task task = tasks.remove(normalizeId(id));
+            if (task == null) {
+                results.add(new TaskBatchResult(i, id, TaskBatchResult.Status.NOT_FOUND, "Task not found with id: " + id, null));
+                continue;
+            }
+            deleted.add(task);
+            results.add(new TaskBatchResult(i, id, TaskBatchResult.Status.DELETED, null, null));
+        }
+
+        Long userId = getCurrentUserId();
+        if (!deleted.isEmpty()) {
+            Long changeSeq = nextChangeSeq(userId);
+            LocalDateTime now = LocalDateTime.now();
+            tombstoneRepository.saveAll(deleted.stream()
+                    .map(task -> new TaskTombstone(task.getId(), userId, changeSeq, now))
+                    .collect(Collectors.toList()));
+            deleted.forEach(task -> changeFeed.publish(userId, TaskChangeEvent.deleted(task.getId(), changeSeq)));
+        }
+        taskRepository.deleteAll(deleted);
+        taskRepository.flush();
+        if (!deleted.isEmpty()) {
+            TaskStatsDelta stats = new TaskStatsDelta();
+            deleted.forEach(task -> stats.removed(TaskStatsSnapshot.of(task)));
+            statsService.apply(userId, stats);
+        }
+        return TaskBatchResponse.of(results);
+    }
+
+    // Keyed by the lowercase id as loaded; look tasks up with normalizeId(id)
+    private Map<String, Task> findOwnedTasks(List<String> ids) {
+        Set<String> distinctIds = ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .map(TaskService::normalizeId)
+                .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return taskRepository.findByUserAndIdIn(getCurrentUser(), distinctIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    // The id column matches hex digits regardless of case, but loaded ids are always lowercase
+    private static String normalizeId(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new InvalidRequestException("Batch must not exceed " + maxBatchSize + " operations");
+        }
+    }
+
+    private String validate(Object request) {
+        if (request == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
\ No newline at end of file
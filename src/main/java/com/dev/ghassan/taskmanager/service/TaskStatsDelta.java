@@ -0,0 +1,56 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.model.TaskCounter;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.repository.TaskStatsSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Net change to a user's task counters over one transaction.
+ */
+final class TaskStatsDelta {
+    private final Map<String, Long> changes = new HashMap<>();
+
+    void added(TaskStatsSnapshot task) {
+        apply(task, 1);
+    }
+
+    void removed(TaskStatsSnapshot task) {
+        apply(task, -1);
+    }
+
+    void changed(TaskStatsSnapshot before, TaskStatsSnapshot after) {
+        removed(before);
+        added(after);
+    }
+
+    long get(String key) {
+        return changes.getOrDefault(key, 0L);
+    }
+
+    // Keys whose increments cancelled out (e.g. an update that kept the status) are dropped
+    Map<String, Long> nonZero() {
+        Map<String, Long> result = new HashMap<>();
+        changes.forEach((key, delta) -> {
+            if (delta != 0) {
+                result.put(key, delta);
+            }
+        });
+        return result;
+    }
+
+    private void apply(TaskStatsSnapshot task, long sign) {
+        changes.merge(TaskCounter.TOTAL, sign, Long::sum);
+        if (task.status() != null) {
+            changes.merge(TaskCounter.statusKey(task.status()), sign, Long::sum);
+        }
+        if (task.priority() != null) {
+            changes.merge(TaskCounter.priorityKey(task.priority()), sign, Long::sum);
+        }
+        if (task.dueDate() != null && task.status() != TaskStatus.COMPLETED) {
+            changes.merge(TaskCounter.dueKey(task.dueDate().toLocalDate()), sign, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskStatsResponse;
+import com.dev.ghassan.taskmanager.model.TaskCounter;
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.repository.TaskCounterRepository;
+import com.dev.ghassan.taskmanager.repository.TaskRepository;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user task statistics served from the task_counters table. TaskService applies
+ * each write's net change in the same transaction, after taking the owner's row lock,
+ * so counters move in commit order. Reads stay O(1) in the number of tasks: counters
+ * are created on a user's first read, and once a day that read folds the due days now
+ * in the past into a single overdue counter. A background pass, run by one instance at
+ * a time, recounts a slice of users at a time and repairs any counters that drifted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsService {
+    private final TaskCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcLeaseLock leaseLock;
+    private final MeterRegistry meterRegistry;
+
+    static final String RECONCILE_LEASE_NAME = "task-stats-reconcile";
+
+    @Value("${app.tasks.stats.reconcile-batch-size:200}")
+    private int reconcileBatchSize;
+
+    // The holder renews on every run, so the in-memory cursor stays with one instance
+    @Value("${app.tasks.stats.reconcile-lease:5m}")
+    private Duration reconcileLease;
+
+    private final AtomicLong reconcileCursor = new AtomicLong();
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+    private Counter driftRepairs;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        driftRepairs = Counter.builder("tasks.stats.drift.repaired")
+                .description("Users whose task counters were corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    public TaskStatsResponse getStats(Long userId) {
+        LocalDate today = LocalDate.now();
+        Map<String, Long> counters = readTransaction.execute(status -> load(userId, today));
+        if (!isCurrent(counters, today)) {
+            // First read ever, or the first since midnight: bring the counters up to date once
+            counters = writeTransaction.execute(status -> {
+                if (userRepository.findByIdForUpdate(userId).isPresent()) {
+                    prepare(userId, today);
+                }
+                return load(userId, today);
+            });
+        }
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, counters.getOrDefault(TaskCounter.statusKey(status), 0L));
+        }
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, counters.getOrDefault(TaskCounter.priorityKey(priority), 0L));
+        }
+
+        // After the roll-up only today and the next six days have due counters left to read
+        String todayKey = TaskCounter.dueKey(today);
+        long overdue = counters.getOrDefault(TaskCounter.OVERDUE, 0L);
+        long dueThisWeek = 0;
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            String key = counter.getKey();
+            if (!key.startsWith(TaskCounter.DUE_PREFIX)) {
+                continue;
+            }
+            if (key.compareTo(todayKey) < 0) {
+                overdue += counter.getValue();
+            } else {
+                dueThisWeek += counter.getValue();
+            }
+        }
+        return new TaskStatsResponse(counters.getOrDefault(TaskCounter.TOTAL, 0L), byStatus, byPriority, overdue, dueThisWeek);
+    }
+
+    /**
+     * Applies a write's net change. Must run inside the writing transaction, after the
+     * task rows were changed and while the owner's row lock is held.
+     */
+    void apply(Long userId, TaskStatsDelta delta) {
+        Map<String, Long> changes = delta.nonZero();
+        if (changes.isEmpty()) {
+            return;
+        }
+        // The total row doubles as the initialized marker. Connector/J reports matched rows,
+        // so a zero delta still returns 1 when the row exists
+        if (counterRepository.increment(userId, TaskCounter.TOTAL, delta.get(TaskCounter.TOTAL)) == 0) {
+            // Recount instead of applying the delta: the tasks already reflect this write
+            replaceCounters(userId, recount(userId, LocalDate.now()));
+            return;
+        }
+        String todayKey = TaskCounter.dueKey(LocalDate.now());
+        String rolledBefore = null;
+        for (Map.Entry<String, Long> change : changes.entrySet()) {
+            String key = change.getKey();
+            if (key.equals(TaskCounter.TOTAL)) {
+                continue;
+            }
+            // Days already folded into the overdue counter no longer have a row of their own
+            if (key.startsWith(TaskCounter.DUE_PREFIX) && key.compareTo(todayKey) < 0) {
+                if (rolledBefore == null) {
+                    rolledBefore = TaskCounter.dueKey(LocalDate.ofEpochDay(
+                            counterRepository.findTotal(userId, TaskCounter.OVERDUE_THROUGH).orElse(0L)));
+                }
+                if (key.compareTo(rolledBefore) < 0) {
+                    key = TaskCounter.OVERDUE;
+                }
+            }
+            add(userId, key, change.getValue());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.stats.reconcile-interval:60000}")
+    public void reconcile() {
+        if (!leaseLock.tryAcquire(RECONCILE_LEASE_NAME, reconcileLease)) {
+            log.debug("Task counter reconciliation is running on another instance");
+            return;
+        }
+        List<Long> userIds = userRepository.findIdsAfter(reconcileCursor.get(), Limit.of(reconcileBatchSize));
+        if (userIds.isEmpty()) {
+            reconcileCursor.set(0);
+            return;
+        }
+        for (Long userId : userIds) {
+            try {
+                writeTransaction.executeWithoutResult(status -> reconcileUser(userId));
+            } catch (DataAccessException e) {
+                log.warn("Failed to reconcile task counters for user {}: {}", userId, e.getMessage());
+            }
+        }
+        reconcileCursor.set(userIds.get(userIds.size() - 1));
+    }
+
+    private void reconcileUser(Long userId) {
+        // Blocks this user's task writers so the recount and the counters describe the same state
+        if (userRepository.findByIdForUpdate(userId).isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        // Roll up first so a missed roll-up is not reported as drift
+        if (counterRepository.findTotal(userId, TaskCounter.TOTAL).isPresent()) {
+            rollUp(userId, today);
+        }
+        Map<String, Long> expected = recount(userId, today);
+        Map<String, Long> actual = new HashMap<>();
+        counterRepository.findByUserId(userId).forEach(counter -> {
+            if (counter.getTotal() != 0 || counter.getKey().equals(TaskCounter.TOTAL)) {
+                actual.put(counter.getKey(), counter.getTotal());
+            }
+        });
+        if (expected.equals(actual)) {
+            return;
+        }
+        if (!actual.isEmpty()) {
+            driftRepairs.increment();
+            log.info("Repairing drifted task counters for user {}", userId);
+        }
+        replaceCounters(userId, expected);
+    }
+
+    private Map<String, Long> load(Long userId, LocalDate today) {
+        Map<String, Long> counters = new HashMap<>();
+        counterRepository.findForStats(userId, TaskCounter.dueKey(today.plusDays(7)))
+                .forEach(row -> counters.put((String) row[0], (Long) row[1]));
+        return counters;
+    }
+
+    private static boolean isCurrent(Map<String, Long> counters, LocalDate today) {
+        return counters.containsKey(TaskCounter.TOTAL)
+                && counters.getOrDefault(TaskCounter.OVERDUE_THROUGH, 0L) >= today.toEpochDay();
+    }
+
+    // Caller holds the user's row lock
+    private void prepare(Long userId, LocalDate today) {
+        if (counterRepository.findTotal(userId, TaskCounter.TOTAL).isEmpty()) {
+            replaceCounters(userId, recount(userId, today));
+        } else {
+            rollUp(userId, today);
+        }
+    }
+
+    // Folds the due days before today into the overdue counter. Caller holds the user's row lock
+    private void rollUp(Long userId, LocalDate today) {
+        long through = counterRepository.findTotal(userId, TaskCounter.OVERDUE_THROUGH).orElse(0L);
+        if (through >= today.toEpochDay()) {
+            return;
+        }
+        String todayKey = TaskCounter.dueKey(today);
+        long folded = counterRepository.sumDueBefore(userId, todayKey);
+        if (folded != 0) {
+            counterRepository.deleteDueBefore(userId, todayKey);
+            add(userId, TaskCounter.OVERDUE, folded);
+        }
+        if (counterRepository.set(userId, TaskCounter.OVERDUE_THROUGH, today.toEpochDay()) == 0) {
+            counterRepository.insert(userId, TaskCounter.OVERDUE_THROUGH, today.toEpochDay());
+        }
+    }
+
+    private void add(Long userId, String key, long change) {
+        if (counterRepository.increment(userId, key, change) == 0) {
+            counterRepository.insert(userId, key, change);
+        }
+    }
+
+    private Map<String, Long> recount(Long userId, LocalDate today) {
+        Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+        for (Object[] row : taskRepository.countByStatus(userId)) {
+            long count = (Long) row[1];
+            total += count;
+            if (row[0] != null) {
+                counts.put(TaskCounter.statusKey((TaskStatus) row[0]), count);
+            }
+        }
+        for (Object[] row : taskRepository.countByPriority(userId)) {
+            if (row[0] != null) {
+                counts.put(TaskCounter.priorityKey((TaskPriority) row[0]), (Long) row[1]);
+            }
+        }
+        long overdue = 0;
+        for (Object[] row : taskRepository.countOpenByDueDay(userId)) {
+            LocalDate day = (LocalDate) row[0];
+            if (day.isBefore(today)) {
+                overdue += (Long) row[1];
+            } else {
+                counts.put(TaskCounter.dueKey(day), (Long) row[1]);
+            }
+        }
+        if (overdue > 0) {
+            counts.put(TaskCounter.OVERDUE, overdue);
+        }
+        counts.put(TaskCounter.OVERDUE_THROUGH, today.toEpochDay());
+        counts.put(TaskCounter.TOTAL, total);
+        return counts;
+    }
+
+    private void replaceCounters(Long userId, Map<String, Long> counts) {
+        counterRepository.deleteByUserId(userId);
+        counts.forEach((key, count) -> counterRepository.insert(userId, key, count));
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev.ghassan.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes task tombstones older than the delta sync retention, in throttled chunks over
+ * the deleted_at index and under a job lease ({@link ChunkedPurge}). Cursors
+ * older than the retention are already rejected, so nothing can still ask for these rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TombstoneCompactor {
+    static final String LEASE_NAME = "task-tombstone-compaction";
+
+    private static final String DELETE = "DELETE FROM task_tombstones WHERE deleted_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcLeaseLock leaseLock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.sync.tombstone-retention:30d}")
+    private Duration retention;
+
+    @Value("${app.tasks.sync.compaction-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.tasks.sync.compaction-pause:100ms}")
+    private Duration pause;
+
+    @Value("${app.tasks.sync.compaction-max-run-time:10m}")
+    private Duration maxRunTime;
+
+    @Value("${app.tasks.sync.compaction-lease:50m}")
+    private Duration lease;
+
+    public void compactTombstones() {
+        ChunkedPurge purge = new ChunkedPurge(batchSize, pause, maxRunTime);
+        if (!purge.tryStart(leaseLock, LEASE_NAME, lease)) {
+            log.debug("Tombstone compaction is running on another instance");
+            return;
+        }
+        Counter rows = Counter.builder("tasks.tombstones.compacted")
+                .description("Expired task tombstones deleted by the compaction job")
+                .register(meterRegistry);
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long removed = purge.run(() -> jdbcTemplate.update(DELETE, Timestamp.valueOf(cutoff), batchSize), rows);
+
+        if (removed > 0) {
+            log.info("Compacted {} task tombstones older than {}", removed, cutoff);
+        }
+    }
+}
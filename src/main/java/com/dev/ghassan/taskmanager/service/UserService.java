@@ -6,7 +6,9 @@ import com.dev.ghassan.taskmanager.dto.RegisterRequest;
 import com.dev.ghassan.taskmanager.dto.UserResponse;
 import com.dev.ghassan.taskmanager.exception.*;
 import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.repository.RefreshTokenOwner;
 import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.dev.ghassan.taskmanager.security.AccountDetails;
 import com.dev.ghassan.taskmanager.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,7 @@ public class UserService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptService loginAttemptService;
     
     @Value("${jwt.expiration:900000}")
     private Long jwtExpiration;
@@ -63,28 +66,36 @@ public class UserService {
         user = userRepository.save(user);
         log.info("User registered successfully: {}", user.getEmail());
 
-        return generateAuthResponse(user);
+        return generateAuthResponse(user.getId(), user.getUsername(), user.getEmail(),
+                refreshTokenService.createRefreshToken(user.getId()).getToken());
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    // No transaction of its own: the user lookup and the token insert each take a connection only
+    // briefly, so none is held while the password hash is computed
+    public AuthResponse login(LoginRequest request, String clientIp) {
         String email = request.getEmail().toLowerCase().trim();
         log.info("Login attempt for email: {}", email);
+        // Rejects repeat offenders before the password hash is computed
+        loginAttemptService.checkAllowed(email, clientIp);
         
         try {
-            // Authenticate user
-            authenticationManager.authenticate(
+            // Authenticate user; the principal carries everything the response needs
+            AccountDetails account = (AccountDetails) authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, request.getPassword())
-            );
+            ).getPrincipal();
             
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
+            loginAttemptService.reset(email);
+            if (account.isLockRecorded()) {
+                userRepository.clearLockedUntil(account.getId());
+            }
             
-            log.info("User logged in successfully: {}", user.getEmail());
-            return generateAuthResponse(user);
+            log.info("User logged in successfully: {}", account.getEmail());
+            return generateAuthResponse(account.getId(), account.getDisplayName(), account.getEmail(),
+                    refreshTokenService.createRefreshToken(account.getId()).getToken());
             
         } catch (BadCredentialsException e) {
             log.warn("Login failed - invalid credentials for email: {}", email);
+            loginAttemptService.recordFailure(email, clientIp);
             throw new AuthenticationException("Invalid email or password");
         } catch (DisabledException e) {
             log.warn("Login failed - account disabled for email: {}", email);
@@ -92,12 +103,21 @@ public class UserService {
         } catch (LockedException e) {
             log.warn("Login failed - account locked for email: {}", email);
             throw new AccountLockedException("Account is locked");
+        } catch (ServiceUnavailableException e) {
+            // Password hashing is saturated; the client should retry rather than treat it as bad credentials
+            throw e;
         } catch (Exception e) {
             log.error("Login failed for email: {} - {}", email, e.getMessage());
             throw new AuthenticationException("Authentication failed");
         }
     }
     
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenOwner owner = refreshTokenService.verify(refreshToken);
+        return generateAuthResponse(owner.userId(), owner.username(), owner.email(), refreshToken);
+    }
+    
+    @Transactional(readOnly = true)
     public UserResponse getUserProfile(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -105,18 +125,17 @@ public class UserService {
         return new UserResponse(user.getId(), user.getUsername(), user.getEmail());
     }
     
-    private AuthResponse generateAuthResponse(User user) {
-        String accessToken = jwtUtil.generateToken(user.getEmail());
-        String refreshToken = refreshTokenService.createRefreshToken(user).getToken();
+    private AuthResponse generateAuthResponse(Long id, String username, String email, String refreshToken) {
+        String accessToken = jwtUtil.generateToken(email);
         
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .expiresIn(jwtExpiration / 1000) // Convert to seconds
                 .user(AuthResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
+                        .id(id)
+                        .username(username)
+                        .email(email)
                         .build())
                 .build();
     }
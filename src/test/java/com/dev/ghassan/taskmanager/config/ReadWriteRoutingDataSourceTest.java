@@ -0,0 +1,123 @@
+package com.dev.ghassan.taskmanager.config;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final String primaryUrl = h2Url("primary");
+    private final String replicaUrl = h2Url("replica");
+
+    // SpringApplication would register the conversion service that binds "1m" to the Duration parameters
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    DataSourceTransactionManagerAutoConfiguration.class))
+            .withUserConfiguration(DataSourceRoutingConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=" + primaryUrl,
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.username=sa",
+                    "app.datasource.replica.enabled=true",
+                    "app.datasource.replica.url=" + replicaUrl,
+                    "app.datasource.replica.username=sa",
+                    "app.datasource.replica.password=",
+                    "app.datasource.replica.hikari.connection-timeout=250",
+                    "app.datasource.replica.read-your-writes-window=1m",
+                    "app.datasource.replica.retry-delay=1m");
+
+    @BeforeEach
+    void setUp() {
+        seed(primaryUrl, "primary");
+        seed(replicaUrl, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routingIsOffUnlessEnabled() {
+        contextRunner.withPropertyValues("app.datasource.replica.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean("replicaDataSource"));
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        contextRunner.run(context -> {
+            assertThat(read(context, true)).isEqualTo("replica");
+            assertThat(read(context, false)).isEqualTo("primary");
+        });
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimary() {
+        contextRunner.run(context -> {
+            authenticate("alice");
+            write(context);
+            assertThat(read(context, true)).isEqualTo("primary");
+
+            authenticate("bob");
+            assertThat(read(context, true)).isEqualTo("replica");
+        });
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        contextRunner.withPropertyValues("app.datasource.replica.url=" + h2Url("missing") + ";IFEXISTS=TRUE")
+                .run(context -> {
+                    assertThat(read(context, true)).isEqualTo("primary");
+                    assertThat(read(context, true)).isEqualTo("primary");
+                });
+    }
+
+    private static String read(AssertableApplicationContext context, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void write(AssertableApplicationContext context) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        transaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static void seed(String url, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SimpleDriverDataSource(new Driver(), url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, 0)", name);
+    }
+
+    private static String h2Url(String name) {
+        return "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,40 @@
+package com.dev.ghassan.taskmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryUuidTypeTest {
+    @Test
+    void generatesIncreasingVersionSevenIds() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.next();
+            assertThat(next.version()).isEqualTo(7);
+            assertThat(next.variant()).isEqualTo(2);
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    void binaryFormRoundTripsAndSortsLikeTheString() {
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+
+        assertThat(BinaryUuidType.toUuidString(BinaryUuidType.toBinary(first))).isEqualTo(first);
+        assertThat(BinaryUuidType.toBinary(first)).hasSize(16);
+        assertThat(Integer.signum(Arrays.compareUnsigned(
+                BinaryUuidType.toBinary(first), BinaryUuidType.toBinary(second))))
+                .isEqualTo(Integer.signum(first.compareTo(second)));
+    }
+
+    @Test
+    void malformedIdsBecomeTheNilUuid() {
+        assertThat(BinaryUuidType.toBinary("not-a-task-id")).containsOnly(0);
+        assertThat(BinaryUuidType.toBinary("0123456789abcdef0123456789abcdef0123")).containsOnly(0);
+    }
+}
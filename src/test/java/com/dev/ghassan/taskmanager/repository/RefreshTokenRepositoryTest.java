@@ -0,0 +1,146 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.config.JpaConfig;
+import com.dev.ghassan.taskmanager.exception.TokenRefreshException;
+import com.dev.ghassan.taskmanager.model.RefreshToken;
+import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.security.AccountDetails;
+import com.dev.ghassan.taskmanager.security.CustomUserDetailsService;
+import com.dev.ghassan.taskmanager.service.RefreshTokenService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.refresh.max-per-user=3"
+})
+@Import({JpaConfig.class, CustomUserDetailsService.class, RefreshTokenService.class})
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void loginReadsUserOnceAndInsertsTokenUnderTheCap() {
+        User user = persistUser("login");
+        entityManager.clear();
+        statistics.clear();
+
+        AccountDetails account = (AccountDetails) userDetailsService.loadUserByUsername("login@example.com");
+        RefreshToken token = refreshTokenService.createRefreshToken(account.getId());
+        entityManager.flush();
+
+        assertThat(account.getId()).isEqualTo(user.getId());
+        assertThat(account.getDisplayName()).isEqualTo("login");
+        assertThat(token.getToken()).isNotBlank();
+        // User lookup, token INSERT and the cap check; nothing to revoke yet
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    void eachLoginGetsItsOwnToken() {
+        User user = persistUser("devices");
+
+        String first = refreshTokenService.createRefreshToken(user.getId()).getToken();
+        String second = refreshTokenService.createRefreshToken(user.getId()).getToken();
+        entityManager.flush();
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(refreshTokenService.verify(first).userId()).isEqualTo(user.getId());
+        assertThat(refreshTokenService.verify(second).userId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void loginsPastTheCapRevokeTheOldestTokens() {
+        User user = persistUser("sessions");
+        User other = persistUser("other");
+        String otherToken = refreshTokenService.createRefreshToken(other.getId()).getToken();
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(refreshTokenService.createRefreshToken(user.getId()).getToken());
+        }
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findOwnerByToken(tokens.get(0))).isEmpty();
+        assertThat(refreshTokenRepository.findOwnerByToken(tokens.get(1))).isEmpty();
+        assertThat(tokens.subList(2, 5))
+                .allSatisfy(token -> assertThat(refreshTokenService.verify(token).userId()).isEqualTo(user.getId()));
+        assertThat(refreshTokenService.verify(otherToken).userId()).isEqualTo(other.getId());
+    }
+
+    @Test
+    void refreshResolvesOwnerInOneStatement() {
+        User user = persistUser("refresh");
+        String token = refreshTokenService.createRefreshToken(user.getId()).getToken();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        RefreshTokenOwner owner = refreshTokenService.verify(token);
+
+        assertThat(owner.userId()).isEqualTo(user.getId());
+        assertThat(owner.username()).isEqualTo("refresh");
+        assertThat(owner.email()).isEqualTo("refresh@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsRejectedAndRemoved() {
+        User user = persistUser("expired");
+        RefreshToken token = new RefreshToken();
+        token.setToken("expired-token");
+        token.setExpiryDate(LocalDateTime.now().minusMinutes(1));
+        token.setUser(user);
+        entityManager.persistAndFlush(token);
+
+        assertThatThrownBy(() -> refreshTokenService.verify("expired-token"))
+                .isInstanceOf(TokenRefreshException.class);
+        assertThat(refreshTokenRepository.findOwnerByToken("expired-token")).isEmpty();
+        assertThatThrownBy(() -> refreshTokenService.verify("unknown-token"))
+                .isInstanceOf(TokenRefreshException.class);
+    }
+
+    private User persistUser(String name) {
+        return entityManager.persistAndFlush(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("hash")
+                .build());
+    }
+}
@@ -0,0 +1,139 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import com.dev.ghassan.taskmanager.config.JpaConfig;
+import com.dev.ghassan.taskmanager.dto.TaskFilter;
+import com.dev.ghassan.taskmanager.model.BinaryUuidType;
+import com.dev.ghassan.taskmanager.model.Task;
+import com.dev.ghassan.taskmanager.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(JpaConfig.class)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void findByUserLoadsTagsInConstantStatements() {
+        User small = persistUserWithTasks("small", 3);
+        User large = persistUserWithTasks("large", 40);
+
+        long smallStatements = countStatements(() -> taskRepository.findByUser(small));
+        long largeStatements = countStatements(() -> taskRepository.findByUser(large));
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void pagedListingLoadsTagsInConstantStatements() {
+        User small = persistUserWithTasks("small", 3);
+        User large = persistUserWithTasks("large", 40);
+
+        long smallStatements = countStatements(() -> firstPage(small));
+        long largeStatements = countStatements(() -> firstPage(large));
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void changesSinceResumeInsideASequenceGroup() {
+        User user = persistUserWithTasks("sync", 5);
+        List<Task> all = taskRepository.findChangedSince(user.getId(), -1, "", Limit.of(10));
+        assertThat(all).hasSize(5);
+
+        // All five rows share change sequence 0, so the cursor id alone separates the pages
+        List<Task> first = taskRepository.findChangedSince(user.getId(), -1, "", Limit.of(2));
+        Task last = first.get(1);
+        List<Task> rest = taskRepository.findChangedSince(user.getId(), last.getChangeSeq(), last.getId(), Limit.of(10));
+
+        assertThat(first).extracting(Task::getId).containsExactlyElementsOf(all.subList(0, 2).stream().map(Task::getId).toList());
+        assertThat(rest).extracting(Task::getId).containsExactlyElementsOf(all.subList(2, 5).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void idsAreStoredAsSixteenBytesAndReadBackAsStrings() {
+        User user = persistUserWithTasks("binary", 2);
+        entityManager.clear();
+
+        List<Task> tasks = taskRepository.findByUser(user);
+        Task task = tasks.get(0);
+        byte[] stored = (byte[]) entityManager.getEntityManager()
+                .createNativeQuery("SELECT id FROM tasks WHERE title = :title")
+                .setParameter("title", task.getTitle())
+                .getSingleResult();
+
+        assertThat(stored).hasSize(16).isEqualTo(BinaryUuidType.toBinary(task.getId()));
+        assertThat(UUID.fromString(task.getId()).version()).isEqualTo(7);
+        assertThat(taskRepository.findByIdAndUser(task.getId(), user)).get()
+                .extracting(Task::getTags).asList().containsExactly("alpha", "beta");
+        assertThat(taskRepository.findByIdAndUser(task.getId().toUpperCase(), user)).isPresent();
+        assertThat(taskRepository.findByIdAndUser("not-a-task-id", user)).isEmpty();
+        assertThat(taskRepository.deleteTagsByIdAndUserId(BinaryUuidType.toBinary(task.getId()), user.getId())).isEqualTo(2);
+    }
+
+    private List<Task> firstPage(User user) {
+        return taskRepository.findBy(
+                TaskSpecifications.ownedBy(user.getId()).and(TaskSpecifications.matching(new TaskFilter())),
+                query -> query.sortBy(TaskSpecifications.NEWEST_FIRST).limit(50).all());
+    }
+
+    private long countStatements(Supplier<List<Task>> listing) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<Task> tasks = listing.get();
+        tasks.forEach(task -> assertThat(task.getTags()).hasSize(2));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUserWithTasks(String name, int taskCount) {
+        User user = entityManager.persist(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("hash")
+                .build());
+
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTitle(name + " task " + i);
+            task.setTags(List.of("alpha", "beta"));
+            task.setUser(user);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        return user;
+    }
+}
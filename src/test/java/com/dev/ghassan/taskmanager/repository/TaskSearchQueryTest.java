@@ -0,0 +1,50 @@
+package com.dev.ghassan.taskmanager.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchQueryTest {
+
+    @Test
+    void requiresEveryTermAndMatchesTheLastAsPrefix() {
+        assertThat(TaskSearchQuery.toBooleanMode("Quarterly Report", 3, 8)).isEqualTo("+quarterly +report*");
+    }
+
+    @Test
+    void stripsBooleanModeOperators() {
+        assertThat(TaskSearchQuery.toBooleanMode("+fix -login \"page\" (bug) ~old <urgent> @3 draft*", 3, 8))
+                .isEqualTo("+fix +login +page +bug +old +urgent +draft*");
+    }
+
+    @Test
+    void dropsShortWholeWordsButKeepsAShortPrefix() {
+        assertThat(TaskSearchQuery.toBooleanMode("a plan to go", 3, 8)).isEqualTo("+plan +go*");
+        assertThat(TaskSearchQuery.toBooleanMode("re", 3, 8)).isEqualTo("+re*");
+    }
+
+    @Test
+    void capsTheNumberOfTerms() {
+        assertThat(TaskSearchQuery.toBooleanMode("one two three four five", 3, 3)).isEqualTo("+one +two +three*");
+    }
+
+    @Test
+    void prefixAppliesToTheLastTermKeptByTheCap() {
+        assertThat(TaskSearchQuery.toBooleanMode("release notes go live", 3, 3)).isEqualTo("+release +notes +go*");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "+-\"()~<>@*"})
+    void returnsNullWhenNothingSearchableRemains(String text) {
+        assertThat(TaskSearchQuery.toBooleanMode(text, 3, 8)).isNull();
+    }
+
+    @Test
+    void quotesAndCommentMarkersNeverReachTheExpression() {
+        assertThat(TaskSearchQuery.toBooleanMode("' OR 1=1 -- title", 3, 8)).isEqualTo("+title*");
+    }
+}
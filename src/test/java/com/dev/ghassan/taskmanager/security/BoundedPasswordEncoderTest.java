@@ -0,0 +1,76 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        encoder.stop();
+    }
+
+    @Test
+    void hashesOnPoolAndFlagsLowerCostHashesForUpgrade() {
+        encoder = create(12, 1, 10, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("secret-password");
+        assertThat(encoder.matches("secret-password", hash)).isTrue();
+        assertThat(encoder.matches("wrong-password", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(10).encode("secret-password"))).isTrue();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWorkThatCannotStartInTime() throws InterruptedException {
+        encoder = create(14, 1, 1, Duration.ofMillis(50));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+
+        // Cost 14 keeps the only hashing thread busy for a while
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        await(() -> executor.getActiveCount() == 1);
+        // Takes the single queue slot and will have waited past the timeout when it starts
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        await(() -> executor.getQueue().size() == 1);
+
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(slow.join()).startsWith("$2a$14$");
+        assertThat(queued).failsWithin(Duration.ofSeconds(30))
+                .withThrowableOfType(Exception.class)
+                .withRootCauseInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(2);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private BoundedPasswordEncoder create(int strength, int threads, int queueSize, Duration queueTimeout) {
+        BoundedPasswordEncoder created = new BoundedPasswordEncoder(meterRegistry);
+        ReflectionTestUtils.setField(created, "strength", strength);
+        ReflectionTestUtils.setField(created, "threads", threads);
+        ReflectionTestUtils.setField(created, "queueSize", queueSize);
+        ReflectionTestUtils.setField(created, "queueTimeout", queueTimeout);
+        created.init();
+        return created;
+    }
+}
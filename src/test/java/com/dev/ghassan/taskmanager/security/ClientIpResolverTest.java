@@ -0,0 +1,74 @@
+package com.dev.ghassan.taskmanager.security;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientIpResolverTest {
+
+    @Test
+    void ignoresForwardedHeadersByDefault() {
+        ClientIpResolver resolver = resolver(new RateLimitProperties());
+
+        assertThat(resolver.resolve(request("10.0.0.5", "198.51.100.7"))).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void ignoresForwardedHeadersFromUntrustedAddresses() {
+        ClientIpResolver resolver = resolver(trusting("10.0.0.0/8"));
+
+        assertThat(resolver.resolve(request("203.0.113.9", "198.51.100.7"))).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void takesTheRightmostUntrustedHopFromATrustedProxy() {
+        ClientIpResolver resolver = resolver(trusting("10.0.0.0/8", "192.168.1.1"));
+
+        // The client made up the first entry; the proxies appended the rest
+        assertThat(resolver.resolve(request("10.0.0.5", "1.2.3.4, 198.51.100.7, 192.168.1.1")))
+                .isEqualTo("198.51.100.7");
+        assertThat(resolver.resolve(request("10.0.0.5", "10.1.1.1"))).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void fallsBackToXRealIpFromATrustedProxy() {
+        ClientIpResolver resolver = resolver(trusting("10.0.0.5"));
+        MockHttpServletRequest request = request("10.0.0.5", null);
+        request.addHeader("X-Real-IP", "198.51.100.7");
+
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.7");
+    }
+
+    @Test
+    void hostNamesInTheHeaderAreTreatedAsUntrusted() {
+        ClientIpResolver resolver = resolver(trusting("10.0.0.0/8"));
+
+        assertThat(resolver.resolve(request("10.0.0.5", "proxy.internal"))).isEqualTo("proxy.internal");
+    }
+
+    private static RateLimitProperties trusting(String... proxies) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustForwardedHeaders(true);
+        properties.setTrustedProxies(List.of(proxies));
+        return properties;
+    }
+
+    private static ClientIpResolver resolver(RateLimitProperties properties) {
+        ClientIpResolver resolver = new ClientIpResolver(properties);
+        resolver.init();
+        return resolver;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
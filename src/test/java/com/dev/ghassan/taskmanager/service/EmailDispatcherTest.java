@@ -0,0 +1,125 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.model.EmailOutbox;
+import com.dev.ghassan.taskmanager.model.EmailStatus;
+import com.dev.ghassan.taskmanager.repository.EmailOutboxRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+// Workers read the outbox from their own threads, so rows must be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTest {
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 202;
+    private HttpServer server;
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stands in for the SendGrid API
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestURI().getPath() + " " +
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseStatus, -1);
+            exchange.close();
+        });
+        server.start();
+
+        dispatcher = new EmailDispatcher(outboxRepository, meterRegistry, new SimpleAsyncTaskExecutorBuilder());
+        ReflectionTestUtils.setField(dispatcher, "sendGridApiKey", "test-key");
+        ReflectionTestUtils.setField(dispatcher, "sendGridHost", "localhost:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(dispatcher, "sendGridTestMode", true);
+        ReflectionTestUtils.setField(dispatcher, "fromAddress", "noreply@example.com");
+        ReflectionTestUtils.setField(dispatcher, "fromName", "TaskFlow");
+        ReflectionTestUtils.setField(dispatcher, "workerThreads", 2);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "claimTimeout", Duration.ofMinutes(5));
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+        server.stop(0);
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendsQueuedEmailAndClearsItsBody() throws InterruptedException {
+        dispatcher.enqueue("user@example.com", "Reset your password", "<a href=\"https://x/reset?token=secret\">Reset</a>");
+
+        EmailOutbox email = awaitStatus(EmailStatus.SENT);
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).startsWith("/v3/mail/send ").contains("user@example.com", "token=secret");
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+        assertThat(email.getHtmlBody()).isNull();
+        assertThat(meterRegistry.get("email.send.latency").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesRejectedEmailUntilItFailsPermanently() throws InterruptedException {
+        responseStatus = 500;
+        dispatcher.enqueue("user@example.com", "Welcome", "<p>Hello</p>");
+
+        await(() -> outboxRepository.findAll().get(0).getAttempts() == 1);
+        assertThat(outboxRepository.findAll().get(0).getLastError()).contains("500");
+
+        // The poller picks the row up again once its backoff has passed
+        await(() -> {
+            dispatcher.pollOutbox();
+            return outboxRepository.findAll().get(0).getStatus() == EmailStatus.FAILED;
+        });
+        EmailOutbox email = outboxRepository.findAll().get(0);
+
+        assertThat(email.getAttempts()).isEqualTo(2);
+        assertThat(email.getHtmlBody()).isNull();
+        assertThat(requests).hasSize(2);
+    }
+
+    private EmailOutbox awaitStatus(EmailStatus status) throws InterruptedException {
+        await(() -> outboxRepository.findAll().stream().anyMatch(email -> email.getStatus() == status));
+        return outboxRepository.findAll().get(0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
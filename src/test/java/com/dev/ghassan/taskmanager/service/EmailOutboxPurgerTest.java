@@ -0,0 +1,78 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.model.EmailOutbox;
+import com.dev.ghassan.taskmanager.model.EmailStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class EmailOutboxPurgerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void purgesFinishedEmailsPastRetentionOnly() {
+        LocalDateTime old = LocalDateTime.now().minusDays(8);
+        for (int i = 0; i < 9; i++) {
+            persist(EmailStatus.SENT, old);
+        }
+        persist(EmailStatus.FAILED, old);
+        persist(EmailStatus.PENDING, old);
+        persist(EmailStatus.SENDING, old);
+        persist(EmailStatus.SENT, LocalDateTime.now().minusDays(1));
+        entityManager.flush();
+
+        create(new JdbcLeaseLock(jdbcTemplate)).purgeFinishedEmails();
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM email_outbox ORDER BY status", String.class))
+                .containsExactly("PENDING", "SENDING", "SENT");
+        assertThat(meterRegistry.get("email.outbox.purge.rows").counter().count()).isEqualTo(10);
+    }
+
+    @Test
+    void skipsRunWhileAnotherInstanceHoldsTheLease() {
+        persist(EmailStatus.SENT, LocalDateTime.now().minusDays(8));
+        entityManager.flush();
+        new JdbcLeaseLock(jdbcTemplate).tryAcquire(EmailOutboxPurger.LEASE_NAME, Duration.ofMinutes(5));
+
+        create(new JdbcLeaseLock(jdbcTemplate)).purgeFinishedEmails();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox", Long.class)).isEqualTo(1);
+    }
+
+    private void persist(EmailStatus status, LocalDateTime lastAttempt) {
+        EmailOutbox email = new EmailOutbox("user@example.com", "Subject", null);
+        email.setStatus(status);
+        email.setNextAttemptAt(lastAttempt);
+        entityManager.persist(email);
+    }
+
+    private EmailOutboxPurger create(JdbcLeaseLock leaseLock) {
+        EmailOutboxPurger purger = new EmailOutboxPurger(jdbcTemplate, leaseLock, meterRegistry);
+        ReflectionTestUtils.setField(purger, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(purger, "batchSize", 5);
+        ReflectionTestUtils.setField(purger, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(purger, "maxRunTime", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(purger, "lease", Duration.ofMinutes(5));
+        return purger;
+    }
+}
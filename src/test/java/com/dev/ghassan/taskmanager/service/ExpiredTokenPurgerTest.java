@@ -0,0 +1,100 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.JpaConfig;
+import com.dev.ghassan.taskmanager.model.PasswordResetToken;
+import com.dev.ghassan.taskmanager.model.RefreshToken;
+import com.dev.ghassan.taskmanager.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(JpaConfig.class)
+class ExpiredTokenPurgerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void purgesExpiredRowsInChunksAndKeepsLiveOnes() {
+        User user = entityManager.persist(User.builder()
+                .username("purge")
+                .email("purge@example.com")
+                .password("hash")
+                .build());
+        LocalDateTime expired = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 25; i++) {
+            persistRefreshToken(user, "expired-" + i, expired);
+        }
+        for (int i = 0; i < 3; i++) {
+            persistRefreshToken(user, "live-" + i, LocalDateTime.now().plusDays(1));
+        }
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new PasswordResetToken("reset-" + i, user, expired));
+        }
+        entityManager.flush();
+
+        create(new JdbcLeaseLock(jdbcTemplate)).purgeExpiredTokens();
+
+        assertThat(count("refresh_tokens")).isEqualTo(3);
+        assertThat(count("password_reset_tokens")).isZero();
+        assertThat(meterRegistry.get("tokens.purge.rows").tag("table", "refresh_tokens").counter().count()).isEqualTo(25);
+        assertThat(meterRegistry.get("tokens.purge.duration").tag("table", "refresh_tokens").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOneInstanceHoldsTheLease() {
+        // Two locks over the same table stand in for two application instances
+        JdbcLeaseLock nodeA = new JdbcLeaseLock(jdbcTemplate);
+        JdbcLeaseLock nodeB = new JdbcLeaseLock(jdbcTemplate);
+
+        assertThat(nodeA.tryAcquire(ExpiredTokenPurger.LEASE_NAME, Duration.ofMinutes(5))).isTrue();
+        assertThat(nodeB.tryAcquire(ExpiredTokenPurger.LEASE_NAME, Duration.ofMinutes(5))).isFalse();
+        assertThat(nodeA.tryAcquire(ExpiredTokenPurger.LEASE_NAME, Duration.ofMinutes(5))).isTrue();
+
+        // An expired lease is free for the taking
+        jdbcTemplate.update("UPDATE job_leases SET locked_until = 0");
+        assertThat(nodeB.tryAcquire(ExpiredTokenPurger.LEASE_NAME, Duration.ofMinutes(5))).isTrue();
+        assertThat(nodeA.tryAcquire(ExpiredTokenPurger.LEASE_NAME, Duration.ofMinutes(5))).isFalse();
+    }
+
+    private void persistRefreshToken(User user, String token, LocalDateTime expiryDate) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setToken(token);
+        refreshToken.setExpiryDate(expiryDate);
+        refreshToken.setUser(user);
+        entityManager.persist(refreshToken);
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private ExpiredTokenPurger create(JdbcLeaseLock leaseLock) {
+        ExpiredTokenPurger purger = new ExpiredTokenPurger(jdbcTemplate, leaseLock, meterRegistry);
+        ReflectionTestUtils.setField(purger, "batchSize", 10);
+        ReflectionTestUtils.setField(purger, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(purger, "maxRunTime", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(purger, "lease", Duration.ofMinutes(5));
+        return purger;
+    }
+}
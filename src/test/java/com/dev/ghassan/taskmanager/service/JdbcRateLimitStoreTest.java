@@ -0,0 +1,107 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class JdbcRateLimitStoreTest {
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(10, Duration.ofMinutes(1));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setPrefetchFraction(0.3);
+    }
+
+    @Test
+    void replicasShareOneLimit() {
+        // Two stores over the same table stand in for two application instances
+        JdbcRateLimitStore nodeA = new JdbcRateLimitStore(jdbcTemplate, properties);
+        JdbcRateLimitStore nodeB = new JdbcRateLimitStore(jdbcTemplate, properties);
+
+        int allowed = 0;
+        for (int i = 0; i < 50; i++) {
+            JdbcRateLimitStore node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume("login:10.0.0.1", LIMIT)) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    void prefetchKeepsMostChecksLocal() {
+        JdbcRateLimitStore node = new JdbcRateLimitStore(jdbcTemplate, properties);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(node.tryConsume("login:10.0.0.2", LIMIT)).isTrue();
+        }
+
+        Long remaining = jdbcTemplate.queryForObject(
+                "SELECT tokens FROM rate_limit_buckets WHERE bucket_key = ?", Long.class, "login:10.0.0.2");
+        assertThat(remaining).isEqualTo(7);
+    }
+
+    @Test
+    void prefetchDefaultsToAShareOfCapacity() {
+        RateLimitProperties defaults = new RateLimitProperties();
+
+        assertThat(defaults.prefetchFor(new RateLimitProperties.Limit(100, Duration.ofMinutes(1)))).isEqualTo(20);
+        assertThat(defaults.prefetchFor(new RateLimitProperties.Limit(3, Duration.ofMinutes(1)))).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentReservationsAreNotLost() throws InterruptedException {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(100, Duration.ofMinutes(1));
+        properties.setPrefetchFraction(0.1);
+        JdbcRateLimitStore node = new JdbcRateLimitStore(jdbcTemplate, properties);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    if (node.tryConsume("login:10.0.0.3", limit)) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // A reservation that replaced another would strand its tokens and admit fewer than the capacity
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,147 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.LoginProtectionProperties;
+import com.dev.ghassan.taskmanager.exception.AccountLockedException;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class LoginAttemptServiceTest {
+    private LoginProtectionProperties properties;
+    private UserRepository userRepository;
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginProtectionProperties();
+        properties.setMaxAccountFailures(5);
+        properties.setMaxClientFailures(20);
+        userRepository = mock(UserRepository.class);
+        service = new LoginAttemptService(properties, userRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void locksAccountAfterRepeatedFailuresFromAnyClient() {
+        for (int i = 0; i < 5; i++) {
+            service.checkAllowed("victim@example.com", "10.0.0." + i);
+            service.recordFailure("victim@example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> service.checkAllowed("victim@example.com", "10.9.9.9"))
+                .isInstanceOf(AccountLockedException.class);
+        service.checkAllowed("other@example.com", "10.9.9.9");
+        verify(userRepository, timeout(1000)).lockUntil(eq("victim@example.com"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void successfulLoginClearsAccountFailures() {
+        for (int i = 0; i < 4; i++) {
+            service.recordFailure("user@example.com", "10.0.0.1");
+        }
+        service.reset("user@example.com");
+        for (int i = 0; i < 4; i++) {
+            service.recordFailure("user@example.com", "10.0.0.1");
+        }
+
+        service.checkAllowed("user@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void turnsAwayClientFailingAcrossManyAccounts() {
+        for (int i = 0; i < 20; i++) {
+            service.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> service.checkAllowed("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        service.checkAllowed("fresh@example.com", "10.0.0.2");
+    }
+
+    @Test
+    void lockDurationDoublesUpToMaximum() {
+        properties.setLockDuration(Duration.ofMinutes(1));
+        properties.setMaxLockDuration(Duration.ofMinutes(10));
+
+        assertThat(service.lockDuration(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(service.lockDuration(2)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(service.lockDuration(4)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(service.lockDuration(5)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(service.lockDuration(100)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void stuffingFromRotatingClientsReachesPasswordCheckBoundedTimes() throws InterruptedException {
+        int accounts = 50;
+        int attempts = 200_000;
+        AtomicInteger passwordChecks = new AtomicInteger();
+        ExecutorService attackers = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            attackers.execute(() -> {
+                for (int i = thread; i < attempts; i += 8) {
+                    String email = "user" + (i % accounts) + "@example.com";
+                    String clientIp = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+                    try {
+                        service.checkAllowed(email, clientIp);
+                    } catch (AccountLockedException | RateLimitExceededException e) {
+                        continue;
+                    }
+                    // Stands in for the BCrypt verification the gate is protecting
+                    passwordChecks.incrementAndGet();
+                    service.recordFailure(email, clientIp);
+                }
+            });
+        }
+        attackers.shutdown();
+        assertThat(attackers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Each account gets its failure allowance and is then locked for the rest of the run;
+        // concurrent attempts racing the lock may add a few per thread
+        assertThat(passwordChecks.get()).isLessThanOrEqualTo(accounts * (properties.getMaxAccountFailures() + 8));
+    }
+
+    @Test
+    void slidingWindowCounterLosesNoConcurrentUpdates() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15).toMillis(), 15);
+        long now = System.currentTimeMillis();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            threads.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(now);
+                }
+            });
+        }
+        threads.shutdown();
+        assertThat(threads.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.sum(now)).isEqualTo(80_000);
+        assertThat(counter.sum(now + Duration.ofMinutes(15).toMillis())).isZero();
+    }
+}
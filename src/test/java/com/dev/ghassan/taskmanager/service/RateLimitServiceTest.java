@@ -0,0 +1,122 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitServiceTest {
+    private static final int MAX_KEYS = 10_000;
+
+    private RateLimitProperties properties;
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setMaxKeys(MAX_KEYS);
+        properties.setMaxNewKeysPerWindow(Integer.MAX_VALUE);
+        properties.getEndpoints().put("login", new RateLimitProperties.Limit(3, Duration.ofMinutes(1)));
+        rateLimitService = createService();
+    }
+
+    @Test
+    void enforcesPerEndpointLimits() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimitService.tryConsume("login", "10.0.0.1")).isTrue();
+        }
+        assertThat(rateLimitService.tryConsume("login", "10.0.0.1")).isFalse();
+        assertThat(rateLimitService.tryConsume("default", "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void sprayingDistinctKeysKeepsStoreAndHeapBounded() {
+        Runtime runtime = Runtime.getRuntime();
+        spray(0, 200_000);
+        long baselineHeap = usedHeapAfterGc(runtime);
+
+        spray(200_000, 2_000_000);
+        long finalHeap = usedHeapAfterGc(runtime);
+
+        assertThat(rateLimitService.trackedKeys()).isLessThanOrEqualTo(MAX_KEYS);
+        // Ten times more keys must not translate into meaningful heap growth
+        assertThat(finalHeap - baselineHeap).isLessThan(32L * 1024 * 1024);
+    }
+
+    @Test
+    void newKeysBeyondWindowBudgetShareOverflowBucket() {
+        properties.setMaxNewKeysPerWindow(5);
+        rateLimitService = createService();
+
+        for (int i = 0; i < 5; i++) {
+            rateLimitService.tryConsume("login", "10.0.0." + i);
+        }
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (rateLimitService.tryConsume("login", "10.1.0." + i)) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(3);
+        // The five admitted clients plus the overflow bucket of 10.1.0.0/24
+        assertThat(rateLimitService.trackedKeys()).isEqualTo(6);
+    }
+
+    @Test
+    void freshClientGetsThroughWhileAnotherNetworkSprays() {
+        properties.setMaxNewKeysPerWindow(5);
+        rateLimitService = createService();
+
+        for (int i = 0; i < 1_000; i++) {
+            rateLimitService.tryConsume("login", "10.1." + (i / 250) + "." + (i % 250));
+            rateLimitService.tryConsume("login", "2001:db8:1:2::" + Integer.toHexString(i));
+        }
+
+        assertThat(rateLimitService.tryConsume("login", "192.168.5.7")).isTrue();
+        assertThat(rateLimitService.tryConsume("login", "2001:db8:9:9::1")).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "192.168.5.7, 192.168.5.0/24",
+            "010.001.002.003, 10.1.2.0/24",
+            "::ffff:192.168.5.7, 192.168.5.0/24",
+            "2001:DB8:0:12::1, 2001:db8:0:12::/64",
+            "2001:db8::1, 2001:db8:0:0::/64",
+            "2001:db8:1:2:3:4:5:6%eth0, 2001:db8:1:2::/64",
+            "1:2:3:4:5:6:1.2.3.4, 1:2:3:4::/64",
+            "::1, 0:0:0:0::/64",
+            "256.1.1.1, other",
+            "1:2:3:4:5:6:7:8:9, other",
+            "1::2::3, other",
+            "spoofed-42, other"
+    })
+    void overflowIsKeyedByNetworkPrefix(String client, String prefix) {
+        assertThat(RateLimitService.networkPrefix(client)).isEqualTo(prefix);
+    }
+
+    private RateLimitService createService() {
+        RateLimitService service = new RateLimitService(properties, new InMemoryRateLimitStore(properties));
+        service.init();
+        return service;
+    }
+
+    private void spray(int from, int to) {
+        for (int i = from; i < to; i++) {
+            rateLimitService.tryConsume("login", "spoofed-" + i);
+        }
+    }
+
+    private static long usedHeapAfterGc(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
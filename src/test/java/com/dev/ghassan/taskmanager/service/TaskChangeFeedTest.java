@@ -0,0 +1,146 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(feed, "bufferSize", 4);
+        ReflectionTestUtils.setField(feed, "maxConnectionsPerUser", 5);
+        ReflectionTestUtils.setField(feed, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(feed, "senderThreads", 1);
+        ReflectionTestUtils.setField(feed, "sendTimeout", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(feed, "maxStalledSenders", 4);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        feed.stop();
+    }
+
+    @Test
+    void drainDeliversEventsInOrder() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        feed.subscribe(1L, emitter);
+
+        for (int seq = 1; seq <= 10; seq++) {
+            feed.publish(1L, TaskChangeEvent.deleted("task-" + seq, (long) seq));
+            // Paced so the small buffer never overflows
+            int expected = seq + 1;
+            await(() -> emitter.sent.size() == expected);
+        }
+
+        assertThat(emitter.sent.get(0)).contains("connected");
+        assertThat(emitter.sent.get(10)).contains("task-10");
+        assertThat(emitter.completed).isFalse();
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsEvicted() throws InterruptedException {
+        RecordingEmitter slow = new RecordingEmitter(release);
+        feed.subscribe(1L, slow);
+        await(() -> slow.inFlight);
+
+        for (long seq = 1; seq <= 6; seq++) {
+            feed.publish(1L, TaskChangeEvent.deleted("task-" + seq, seq));
+        }
+
+        assertThat(feedConnections()).isZero();
+        assertThat(meterRegistry.get("tasks.stream.evictions").tag("reason", "overflow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.events.dropped").counter().count()).isEqualTo(5);
+        // The emitter is completed by its drain task once the blocked write returns
+        release.countDown();
+        await(() -> slow.completed);
+    }
+
+    @Test
+    void stalledWriteIsEvictedWithoutStarvingOtherStreams() throws InterruptedException {
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        feed.subscribe(1L, stuck);
+        await(() -> stuck.inFlight);
+
+        // The only sender thread is blocked, so this stream waits until the pool grows
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        feed.subscribe(2L, healthy);
+        Thread.sleep(100);
+        feed.evictStalledSubscribers();
+
+        feed.publish(2L, TaskChangeEvent.deleted("task-1", 1L));
+        await(() -> healthy.sent.size() == 2);
+        assertThat(feedConnections()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.evictions").tag("reason", "stalled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.senders.stalled").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        await(() -> stuck.completed);
+        await(() -> meterRegistry.get("tasks.stream.senders.stalled").gauge().value() == 0);
+    }
+
+    private double feedConnections() {
+        return meterRegistry.get("tasks.stream.connections").gauge().value();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // Stands in for the servlet response; a latch makes its writes block like a client that stopped reading
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch blockUntil;
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean inFlight;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch blockUntil) {
+            this.blockUntil = blockUntil;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            inFlight = true;
+            try {
+                if (blockUntil != null) {
+                    blockUntil.await(30, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+            inFlight = false;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskRequest;
+import com.dev.ghassan.taskmanager.exception.RateLimitExceededException;
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.repository.TaskExportRow;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskExportServiceTest {
+
+    private final InputSanitizationService sanitizer = new InputSanitizationService();
+    private TaskExportService exportService;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TaskExportService(null, null, new ObjectMapper().registerModule(new JavaTimeModule()),
+                sanitizer);
+        ReflectionTestUtils.setField(exportService, "maxConcurrentExports", 1);
+        exportService.init();
+        request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void permitComesBackWhenTheBodyIsRejected() throws Exception {
+        StreamingResponseBody body = exportService.export(1L, TaskExportService.Format.NDJSON);
+        assertThatThrownBy(() -> exportService.export(1L, TaskExportService.Format.NDJSON))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        startAsync(body, task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+        request.getAsyncContext().complete();
+
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void bodyRunningAfterTheRequestEndedDoesNotReleaseTwice() throws Exception {
+        StreamingResponseBody body = exportService.export(1L, TaskExportService.Format.NDJSON);
+        List<Runnable> queued = new ArrayList<>();
+
+        startAsync(body, queued::add);
+        request.getAsyncContext().complete();
+        assertThat(availablePermits()).isEqualTo(1);
+
+        // The late body fails (no database here) and releases in its finally block
+        queued.forEach(Runnable::run);
+
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExportService.Format.class)
+    void exportedTextImportsBackUnchanged(TaskExportService.Format format) throws Exception {
+        String title = sanitizer.sanitizeString("Tom & Jerry's \"plan\", a < b");
+        String description = sanitizer.sanitizeString("<b>R&D</b> -- 50% done; x > y");
+        String tag = sanitizer.sanitizeString("Q&A");
+        LocalDateTime now = LocalDateTime.of(2026, 1, 2, 9, 0);
+        List<TaskExportRow> rows = List.of(new TaskExportRow("id-1", title, description, TaskStatus.TODO,
+                TaskPriority.HIGH, null, now, now, 0L, tag));
+
+        StringWriter exported = new StringWriter();
+        ReflectionTestUtils.invokeMethod(exportService, "write", rows.iterator(), format, exported);
+        TaskImportReader reader = new TaskImportReader(
+                new ByteArrayInputStream(exported.toString().getBytes(StandardCharsets.UTF_8)), format,
+                new ObjectMapper().registerModule(new JavaTimeModule()).readerFor(TaskRequest.class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+                65536);
+        TaskRequest imported = reader.next().request();
+
+        assertThat(sanitizer.sanitizeString(imported.getTitle())).isEqualTo(title);
+        assertThat(sanitizer.sanitizeString(imported.getDescription())).isEqualTo(description);
+        assertThat(sanitizer.sanitizeStringList(imported.getTags())).containsExactly(tag);
+    }
+
+    private void startAsync(StreamingResponseBody body, AsyncTaskExecutor executor) throws Exception {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        asyncManager.setTaskExecutor(executor);
+        asyncManager.startCallableProcessing(() -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+    }
+
+    private int availablePermits() {
+        return ((Semaphore) ReflectionTestUtils.getField(exportService, "exportPermits")).availablePermits();
+    }
+}
@@ -0,0 +1,104 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.dto.TaskRequest;
+import com.dev.ghassan.taskmanager.model.TaskPriority;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskImportReaderTest {
+    private final ObjectReader jsonReader = new ObjectMapper().registerModule(new JavaTimeModule())
+            .readerFor(TaskRequest.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void readsNdjsonSkippingBlankLinesAndIgnoringExportFields() throws IOException {
+        List<TaskImportReader.Record> records = readAll(TaskExportService.Format.NDJSON, 1000,
+                "{\"id\":\"x\",\"title\":\"One\",\"status\":\"COMPLETED\",\"version\":3}\r\n"
+                        + "\n"
+                        + "{\"title\":\"Two\",\"dueDate\":\"2030-01-02T09:00:00\"}\n"
+                        + "{not json}\n");
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).row()).isEqualTo(1);
+        assertThat(records.get(0).request().getTitle()).isEqualTo("One");
+        assertThat(records.get(0).request().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(records.get(1).row()).isEqualTo(2);
+        assertThat(records.get(1).request().getDueDate()).isEqualTo(LocalDateTime.of(2030, 1, 2, 9, 0));
+        assertThat(records.get(2).row()).isEqualTo(3);
+        assertThat(records.get(2).error()).startsWith("Invalid JSON");
+    }
+
+    @Test
+    void readsCsvWithQuotedFieldsAndExportHeader() throws IOException {
+        List<TaskImportReader.Record> records = readAll(TaskExportService.Format.CSV, 1000,
+                "\uFEFFid,title,description,status,priority,dueDate,createdAt,updatedAt,tags\n"
+                        + "a,\"Comma, \"\"quoted\"\"\",\"two\nlines\",TODO,high,2030-01-02,,,work; home\n"
+                        + "b,'=SUM(A1),,,,,,,\n"
+                        + "c,Bad,,WAITING,,,,,\n");
+
+        assertThat(records).hasSize(3);
+        TaskRequest first = records.get(0).request();
+        assertThat(first.getTitle()).isEqualTo("Comma, \"quoted\"");
+        assertThat(first.getDescription()).isEqualTo("two\nlines");
+        assertThat(first.getPriority()).isEqualTo(TaskPriority.HIGH);
+        assertThat(first.getDueDate()).isEqualTo(LocalDateTime.of(2030, 1, 2, 0, 0));
+        assertThat(first.getTags()).containsExactly("work", "home");
+        assertThat(records.get(1).request().getTitle()).isEqualTo("=SUM(A1)");
+        assertThat(records.get(2).error()).isEqualTo("Invalid status: WAITING");
+    }
+
+    @Test
+    void reportsOverlongRecordsAndContinuesWithTheNext() throws IOException {
+        String longTitle = "x".repeat(100);
+        List<TaskImportReader.Record> records = readAll(TaskExportService.Format.CSV, 50,
+                "title,description\n"
+                        + "\"" + longTitle + "\n" + longTitle + "\",d\n"
+                        + "Short,d\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).error()).isEqualTo("Record exceeds 50 characters");
+        assertThat(records.get(1).row()).isEqualTo(2);
+        assertThat(records.get(1).request().getTitle()).isEqualTo("Short");
+    }
+
+    @Test
+    void skipResumesAfterCheckpoint() throws IOException {
+        TaskImportReader reader = reader(TaskExportService.Format.NDJSON, 1000,
+                "{\"title\":\"1\"}\n{\"title\":\"2\"}\n{\"title\":\"3\"}\n");
+
+        assertThat(reader.skip(2)).isEqualTo(2);
+        TaskImportReader.Record record = reader.next();
+        assertThat(record.row()).isEqualTo(3);
+        assertThat(record.request().getTitle()).isEqualTo("3");
+        assertThat(reader.next()).isNull();
+    }
+
+    private List<TaskImportReader.Record> readAll(TaskExportService.Format format, int maxLength, String content)
+            throws IOException {
+        TaskImportReader reader = reader(format, maxLength, content);
+        List<TaskImportReader.Record> records = new ArrayList<>();
+        TaskImportReader.Record record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private TaskImportReader reader(TaskExportService.Format format, int maxLength, String content) {
+        return new TaskImportReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                format, jsonReader, maxLength);
+    }
+}
@@ -0,0 +1,152 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.JpaConfig;
+import com.dev.ghassan.taskmanager.dto.TaskBatchResponse;
+import com.dev.ghassan.taskmanager.dto.TaskBatchResult;
+import com.dev.ghassan.taskmanager.dto.TaskBatchUpdateItem;
+import com.dev.ghassan.taskmanager.dto.TaskStatusResponse;
+import com.dev.ghassan.taskmanager.model.Task;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.repository.TaskCounterRepository;
+import com.dev.ghassan.taskmanager.repository.TaskRepository;
+import com.dev.ghassan.taskmanager.repository.TaskTombstoneRepository;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import com.dev.ghassan.taskmanager.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(JpaConfig.class)
+class TaskServiceTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskService taskService;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("hash")
+                .build());
+        task = new Task();
+        task.setTitle("task");
+        task.setStatus(TaskStatus.TODO);
+        task.setUser(user);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new AuthenticatedUser(user.getId(), user.getEmail(), true, false), null, List.of()));
+        taskService = create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void batchUpdateFindsTasksByMixedCaseIds() {
+        TaskBatchUpdateItem item = new TaskBatchUpdateItem();
+        item.setId(mixedCase(task.getId()));
+        item.setTitle("renamed");
+
+        TaskBatchResponse response = taskService.updateTasks(List.of(item));
+
+        assertThat(response.getResults()).extracting(TaskBatchResult::getStatus)
+                .containsExactly(TaskBatchResult.Status.UPDATED);
+        assertThat(taskRepository.findById(task.getId())).get().extracting(Task::getTitle).isEqualTo("renamed");
+    }
+
+    @Test
+    void batchDeleteFindsTasksByMixedCaseIdsOnce() {
+        String upper = task.getId().toUpperCase(Locale.ROOT);
+
+        TaskBatchResponse response = taskService.deleteTasks(List.of(mixedCase(task.getId()), upper));
+
+        assertThat(response.getResults()).extracting(TaskBatchResult::getStatus)
+                .containsExactly(TaskBatchResult.Status.DELETED, TaskBatchResult.Status.NOT_FOUND);
+        assertThat(taskRepository.findById(task.getId())).isEmpty();
+    }
+
+    @Test
+    void statusUpdateReportsTheVersionItWrote() {
+        TaskStatusResponse unconditional = taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, null);
+        TaskStatusResponse conditional = taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED,
+                unconditional.getVersion());
+
+        assertThat(unconditional.getVersion()).isEqualTo(task.getVersion() + 1);
+        assertThat(conditional.getVersion()).isEqualTo(task.getVersion() + 2);
+        assertThat(taskRepository.findVersionByIdAndUserId(task.getId(), task.getUser().getId()))
+                .contains(conditional.getVersion());
+    }
+
+    private static String mixedCase(String id) {
+        StringBuilder mixed = new StringBuilder(id);
+        for (int i = 0; i < mixed.length(); i += 2) {
+            mixed.setCharAt(i, Character.toUpperCase(mixed.charAt(i)));
+        }
+        return mixed.toString();
+    }
+
+    private TaskService create() {
+        TaskStatsService statsService = new TaskStatsService(counterRepository, taskRepository, userRepository,
+                transactionManager, new JdbcLeaseLock(jdbcTemplate), meterRegistry);
+        ReflectionTestUtils.setField(statsService, "reconcileBatchSize", 200);
+        ReflectionTestUtils.setField(statsService, "reconcileLease", Duration.ofMinutes(5));
+        statsService.init();
+
+        TaskService service = new TaskService(taskRepository, tombstoneRepository, userRepository,
+                new InputSanitizationService(), null, new TaskChangeFeed(new ObjectMapper(), meterRegistry),
+                statsService, null, null, Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "maxBatchSize", 500);
+        return service;
+    }
+}
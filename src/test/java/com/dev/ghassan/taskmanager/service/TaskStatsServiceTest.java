@@ -0,0 +1,174 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.config.JpaConfig;
+import com.dev.ghassan.taskmanager.dto.TaskStatsResponse;
+import com.dev.ghassan.taskmanager.model.Task;
+import com.dev.ghassan.taskmanager.model.TaskCounter;
+import com.dev.ghassan.taskmanager.model.TaskStatus;
+import com.dev.ghassan.taskmanager.model.User;
+import com.dev.ghassan.taskmanager.repository.TaskCounterRepository;
+import com.dev.ghassan.taskmanager.repository.TaskRepository;
+import com.dev.ghassan.taskmanager.repository.TaskStatsSnapshot;
+import com.dev.ghassan.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(JpaConfig.class)
+class TaskStatsServiceTest {
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalDate today = LocalDate.now();
+    private TaskStatsService statsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statsService = create(new JdbcLeaseLock(jdbcTemplate));
+        user = entityManager.persist(User.builder()
+                .username("stats")
+                .email("stats@example.com")
+                .password("hash")
+                .build());
+        persistTask(TaskStatus.TODO, today.minusDays(10));
+        persistTask(TaskStatus.IN_PROGRESS, today.minusDays(3));
+        persistTask(TaskStatus.COMPLETED, today.minusDays(1));
+        persistTask(TaskStatus.TODO, today.plusDays(2));
+        persistTask(TaskStatus.TODO, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void firstReadCreatesCountersAndLaterReadsOnlyTouchThem() {
+        TaskStatsResponse first = statsService.getStats(user.getId());
+
+        assertThat(first.getTotal()).isEqualTo(5);
+        assertThat(first.getOverdue()).isEqualTo(2);
+        assertThat(first.getDueThisWeek()).isEqualTo(1);
+        assertThat(counter(TaskCounter.OVERDUE)).isEqualTo(2);
+        assertThat(counter(TaskCounter.OVERDUE_THROUGH)).isEqualTo(today.toEpochDay());
+        assertThat(counterRepository.sumDueBefore(user.getId(), TaskCounter.dueKey(today))).isZero();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        TaskStatsResponse second = statsService.getStats(user.getId());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void firstReadOfTheDayFoldsPastDueDaysIntoOverdue() {
+        statsService.getStats(user.getId());
+        // Counters as left at the end of an earlier day: yesterday's tasks still have their own row
+        counterRepository.set(user.getId(), TaskCounter.OVERDUE_THROUGH, today.minusDays(1).toEpochDay());
+        counterRepository.increment(user.getId(), TaskCounter.OVERDUE, -1);
+        counterRepository.insert(user.getId(), TaskCounter.dueKey(today.minusDays(1)), 1);
+
+        TaskStatsResponse stats = statsService.getStats(user.getId());
+
+        assertThat(stats.getOverdue()).isEqualTo(2);
+        assertThat(counter(TaskCounter.OVERDUE)).isEqualTo(2);
+        assertThat(counter(TaskCounter.OVERDUE_THROUGH)).isEqualTo(today.toEpochDay());
+        assertThat(counterRepository.findTotal(user.getId(), TaskCounter.dueKey(today.minusDays(1)))).isEmpty();
+    }
+
+    @Test
+    void writesToFoldedDaysUpdateTheOverdueCounter() {
+        statsService.getStats(user.getId());
+        TaskStatsSnapshot overdue = new TaskStatsSnapshot(TaskStatus.TODO, null, today.minusDays(10).atStartOfDay(), 0L);
+        TaskStatsDelta delta = new TaskStatsDelta();
+        delta.changed(overdue, overdue.withStatus(TaskStatus.COMPLETED));
+
+        statsService.apply(user.getId(), delta);
+
+        assertThat(statsService.getStats(user.getId()).getOverdue()).isEqualTo(1);
+        assertThat(counterRepository.findTotal(user.getId(), TaskCounter.dueKey(today.minusDays(10)))).isEmpty();
+    }
+
+    @Test
+    void reconcileRunsOnlyOnTheLeaseHolder() {
+        statsService.getStats(user.getId());
+        counterRepository.increment(user.getId(), TaskCounter.TOTAL, 7);
+        // Each test runs in one transaction; drop counter entities cached by the read so reconcile sees the database
+        entityManager.clear();
+        new JdbcLeaseLock(jdbcTemplate).tryAcquire(TaskStatsService.RECONCILE_LEASE_NAME, Duration.ofMinutes(5));
+
+        statsService.reconcile();
+        assertThat(counter(TaskCounter.TOTAL)).isEqualTo(12);
+
+        jdbcTemplate.update("UPDATE job_leases SET locked_until = 0");
+        statsService.reconcile();
+        assertThat(counter(TaskCounter.TOTAL)).isEqualTo(5);
+        assertThat(meterRegistry.get("tasks.stats.drift.repaired").counter().count()).isEqualTo(1);
+    }
+
+    private long counter(String key) {
+        return counterRepository.findTotal(user.getId(), key).orElseThrow();
+    }
+
+    private void persistTask(TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle("task");
+        task.setStatus(status);
+        task.setDueDate(dueDate == null ? null : LocalDateTime.of(dueDate, LocalTime.NOON));
+        task.setUser(user);
+        entityManager.persist(task);
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    private TaskStatsService create(JdbcLeaseLock leaseLock) {
+        TaskStatsService service = new TaskStatsService(counterRepository, taskRepository, userRepository,
+                transactionManager, leaseLock, meterRegistry);
+        ReflectionTestUtils.setField(service, "reconcileBatchSize", 200);
+        ReflectionTestUtils.setField(service, "reconcileLease", Duration.ofMinutes(5));
+        service.init();
+        return service;
+    }
+}
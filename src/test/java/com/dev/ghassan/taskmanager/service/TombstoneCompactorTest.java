@@ -0,0 +1,76 @@
+package com.dev.ghassan.taskmanager.service;
+
+import com.dev.ghassan.taskmanager.model.TaskTombstone;
+import com.dev.ghassan.taskmanager.model.TimeOrderedUuidGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TombstoneCompactorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void deletesTombstonesPastRetentionInChunks() {
+        for (int i = 0; i < 10; i++) {
+            persist(LocalDateTime.now().minusDays(31));
+        }
+        persist(LocalDateTime.now().minusDays(29));
+        persist(LocalDateTime.now());
+        entityManager.flush();
+
+        create(new JdbcLeaseLock(jdbcTemplate)).compactTombstones();
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(meterRegistry.get("tasks.tombstones.compacted").counter().count()).isEqualTo(10);
+    }
+
+    @Test
+    void skipsRunWhileAnotherInstanceHoldsTheLease() {
+        persist(LocalDateTime.now().minusDays(31));
+        entityManager.flush();
+        new JdbcLeaseLock(jdbcTemplate).tryAcquire(TombstoneCompactor.LEASE_NAME, Duration.ofMinutes(5));
+
+        create(new JdbcLeaseLock(jdbcTemplate)).compactTombstones();
+
+        assertThat(count()).isEqualTo(1);
+    }
+
+    private void persist(LocalDateTime deletedAt) {
+        entityManager.persist(new TaskTombstone(TimeOrderedUuidGenerator.next().toString(), 1L, 1L, deletedAt));
+    }
+
+    private long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_tombstones", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private TombstoneCompactor create(JdbcLeaseLock leaseLock) {
+        TombstoneCompactor compactor = new TombstoneCompactor(jdbcTemplate, leaseLock, meterRegistry);
+        ReflectionTestUtils.setField(compactor, "retention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(compactor, "batchSize", 5);
+        ReflectionTestUtils.setField(compactor, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(compactor, "maxRunTime", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(compactor, "lease", Duration.ofMinutes(5));
+        return compactor;
+    }
+}